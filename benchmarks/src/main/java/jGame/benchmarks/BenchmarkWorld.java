@@ -0,0 +1,79 @@
+package jGame.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import jGame.core.entity.Entity;
+import jGame.core.entity.EntityImpl;
+import jGame.core.entity.EntityManager;
+import jGame.core.entity.component.MovementComponent;
+import jGame.core.launcher.WorldBounds;
+
+/**
+ * Builds the headless worlds the benchmarks run against. Worlds are seeded, so
+ * every run of a benchmark sees the same entities in the same places.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+final class BenchmarkWorld {
+
+	static final int WIDTH = 1920, HEIGHT = 1080;
+	static final int ENTITY_SIZE = 8;
+	static final int ENTITY_SPEED = 2;
+
+	private static final long SEED = 0x4A47414D45L;
+
+	// static class, can't instantiate
+	private BenchmarkWorld() {
+	}
+
+	/**
+	 * Makes the world headless and fills it with the given amount of moving
+	 * entities, scattered over the whole world.
+	 *
+	 * @param entityAmount the number of entities to add
+	 * @return the entities added
+	 * @since 2.1.0
+	 */
+	static List<Entity> populate(int entityAmount) {
+
+		WorldBounds.setHeadless(WIDTH, HEIGHT);
+
+		Random random = new Random(SEED);
+		ArrayList<Entity> entities = new ArrayList<Entity>(entityAmount);
+
+		for (int i = 0; i < entityAmount; i++) {
+			Entity entity = new EntityImpl(random.nextInt(WIDTH - ENTITY_SIZE), random.nextInt(HEIGHT - ENTITY_SIZE),
+					ENTITY_SIZE, ENTITY_SIZE, 1);
+
+			// user controlled entities drop their movement on every tick when no key is held
+			MovementComponent mc = entity.getComponent(MovementComponent.class);
+			mc.setUserControlled(false);
+			mc.changeSpeed(ENTITY_SPEED);
+			mc.setHorizontalMovement(random.nextBoolean() ? 1 : -1);
+			mc.setVerticalMovement(random.nextBoolean() ? 1 : -1);
+
+			entities.add(entity);
+		}
+
+		EntityManager.addEntities(entities);
+
+		// run every entity's startup so measurements only cover regular ticks
+		EntityManager.tickEntities();
+
+		return entities;
+	}
+
+	/**
+	 * Removes every entity from the world.
+	 *
+	 * @since 2.1.0
+	 */
+	static void clear() {
+		EntityManager.removeEntities(EntityManager.getEntities());
+
+		EntityManager.tickEntities();
+	}
+}
@@ -0,0 +1,95 @@
+package jGame.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jGame.core.entity.Entity;
+import jGame.core.entity.EntityManager;
+import jGame.core.entity.component.BroadPhase;
+import jGame.core.entity.component.CollisionComponent;
+import jGame.core.entity.component.SpatialHash;
+import jGame.core.entity.component.SweepAndPrune;
+
+/**
+ * Measures the collision checks of a single entity against the whole world,
+ * without dispatching any collision events, either against every entity or
+ * through one of the broad-phases. The score is the number of entities
+ * checked per second.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int entityAmount;
+
+	@Param({ "none", "spatialHash", "sweepAndPrune" })
+	public String broadPhase;
+
+	private List<Entity> entities;
+	private CollisionComponent[] colliders;
+	private int next = 0;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		EntityManager.setBroadPhase(createBroadPhase());
+		entities = BenchmarkWorld.populate(entityAmount);
+		if (EntityManager.getBroadPhase() != null)
+			EntityManager.getBroadPhase().prepare();
+
+		colliders = new CollisionComponent[entities.size()];
+		for (int i = 0; i < colliders.length; i++)
+			colliders[i] = entities.get(i).getComponent(CollisionComponent.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkWorld.clear();
+		EntityManager.setBroadPhase(null);
+	}
+
+	@Benchmark
+	public void checkCollisions(Blackhole blackhole) {
+		CollisionComponent collider = colliders[next];
+		next = (next + 1) % colliders.length;
+
+		if (EntityManager.getBroadPhase() != null)
+			collider.bufferCollisions();
+		else
+			collider.bufferCollisions(entities);
+		blackhole.consume(collider);
+	}
+
+	private BroadPhase createBroadPhase() {
+		switch (broadPhase) {
+		case "spatialHash":
+			return new SpatialHash(BenchmarkWorld.ENTITY_SIZE * 4);
+		case "sweepAndPrune":
+			return new SweepAndPrune();
+		default:
+			return null;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package jGame.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jGame.core.entity.EntityManager;
+
+/**
+ * Measures how many times per second every entity can be rendered into an
+ * offscreen image the size of the world.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EntityRenderBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int entityAmount;
+
+	@Param({ "0", "0.5", "1" })
+	public double interpolation;
+
+	private BufferedImage image;
+	private Graphics2D g;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkWorld.populate(entityAmount);
+
+		image = new BufferedImage(BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT, BufferedImage.TYPE_INT_RGB);
+		g = image.createGraphics();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		g.dispose();
+		BenchmarkWorld.clear();
+	}
+
+	@Benchmark
+	public BufferedImage render() {
+		g.clearRect(0, 0, BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT);
+		EntityManager.renderEntities(g, interpolation);
+		return image;
+	}
+}
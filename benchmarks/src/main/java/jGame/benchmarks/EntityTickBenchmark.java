@@ -0,0 +1,57 @@
+package jGame.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jGame.core.entity.EntityManager;
+
+/**
+ * Measures how many full ticks of the world can be run per second, including
+ * movement, collisions and scripts of every entity.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EntityTickBenchmark {
+
+	@Param({ "100", "1000", "10000", "100000" })
+	public int entityAmount;
+
+	@Param({ "false", "true" })
+	public boolean parallelTicking;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkWorld.populate(entityAmount);
+		EntityManager.setParallelTicking(parallelTicking);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkWorld.clear();
+	}
+
+	@Benchmark
+	public void tick() {
+		EntityManager.tickEntities();
+	}
+}
@@ -0,0 +1,78 @@
+package jGame.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jGame.core.launcher.WorldBounds;
+import jGame.core.ui.hud.UIHud;
+import jGame.core.ui.hud.UIHudElement;
+import jGame.core.ui.hud.UIHudTextElement;
+
+/**
+ * Measures how many times per second a HUD made of many text elements can be
+ * rendered into an offscreen image.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HudRenderBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int elementAmount;
+
+	private final ArrayList<UIHudElement> elements = new ArrayList<UIHudElement>();
+	private BufferedImage image;
+	private Graphics2D g;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		WorldBounds.setHeadless(BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT);
+
+		for (int i = 0; i < elementAmount; i++) {
+			UIHudElement element = new UIHudTextElement((i * 37) % BenchmarkWorld.WIDTH,
+					(i * 17) % BenchmarkWorld.HEIGHT, "Element " + i);
+			UIHud.addHUDUIElement(element);
+			elements.add(element);
+		}
+
+		image = new BufferedImage(BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT, BufferedImage.TYPE_INT_RGB);
+		g = image.createGraphics();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		g.dispose();
+		for (UIHudElement element : elements)
+			UIHud.removeHUDUIElement(element);
+		elements.clear();
+	}
+
+	@Benchmark
+	public BufferedImage render() {
+		g.clearRect(0, 0, BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT);
+		UIHud.render(g);
+		return image;
+	}
+}
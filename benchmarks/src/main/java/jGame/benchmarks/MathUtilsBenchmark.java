@@ -0,0 +1,71 @@
+package jGame.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jGame.core.utils.MathUtils;
+import jGame.core.utils.MathUtils.ReduceLambda;
+
+/**
+ * Measures {@link MathUtils#reduce(Number[], ReduceLambda)} and its collection
+ * counterpart over arrays of different sizes.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class MathUtilsBenchmark {
+
+	@Param({ "16", "1024", "65536" })
+	public int size;
+
+	private Number[] ints, doubles;
+	private Collection<Number> intCollection;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		ints = new Number[size];
+		doubles = new Number[size];
+		intCollection = new ArrayList<Number>(size);
+
+		for (int i = 0; i < size; i++) {
+			ints[i] = i;
+			doubles[i] = i * 0.5;
+			intCollection.add(i);
+		}
+	}
+
+	@Benchmark
+	public Number reduceIntArray() {
+		return MathUtils.reduce(ints, ReduceLambda.SUM_INT);
+	}
+
+	@Benchmark
+	public Number reduceDoubleArray() {
+		return MathUtils.reduce(doubles, ReduceLambda.SUM_DOUBLE);
+	}
+
+	@Benchmark
+	public Number reduceIntCollection() {
+		return MathUtils.reduce(intCollection, ReduceLambda.SUM_INT);
+	}
+}
@@ -0,0 +1,63 @@
+package jGame.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jGame.core.sound.SoundStore;
+
+/**
+ * Measures looking sounds up in the {@link SoundStore}, both the data and the
+ * format of a sound, with stores of different sizes.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SoundStoreBenchmark {
+
+	@Param({ "10", "1000" })
+	public int soundAmount;
+
+	private String[] identifiers;
+	private int next = 0;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		AudioFormat format = new AudioFormat(44100, 16, 2, true, false);
+
+		identifiers = new String[soundAmount];
+		for (int i = 0; i < soundAmount; i++) {
+			identifiers[i] = "sound" + i;
+			SoundStore.cacheSound(identifiers[i], new byte[64], format);
+		}
+	}
+
+	@Benchmark
+	public void lookup(Blackhole blackhole) {
+		String identifier = identifiers[next];
+		next = (next + 1) % identifiers.length;
+
+		blackhole.consume(SoundStore.getSound(identifier));
+		blackhole.consume(SoundStore.getFormat(identifier));
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * Package containing JMH micro-benchmarks for the engine's hot paths.
+ * 
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+package jGame.benchmarks;
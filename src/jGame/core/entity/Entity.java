@@ -5,17 +5,27 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.event.KeyAdapter;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Set;
 
 import jGame.core.entity.component.CollisionComponent;
 import jGame.core.entity.component.Component;
+import jGame.core.entity.component.ComponentRegistry;
 import jGame.core.entity.component.MovementComponent;
 import jGame.core.entity.component.RenderComponent;
 import jGame.core.entity.component.ScriptComponent;
 import jGame.core.entity.component.TransformComponent;
+import jGame.core.entity.event.CollisionEvent;
 import jGame.core.entity.event.CollisionListener;
+import jGame.core.entity.event.ContactListener;
 import jGame.core.entity.render.Sprite;
 import jGame.core.launcher.GameLauncher;
+import jGame.core.launcher.WorldBounds;
+import jGame.core.utils.profiler.FramePhase;
+import jGame.core.utils.profiler.FrameProfiler;
 import jGame.logging.ProgramLogger;
 
 /**
@@ -52,11 +62,40 @@ public abstract class Entity {
 	protected RenderComponent rc = RenderComponent.create(this);
 	
 	protected LinkedList<Component> components = new LinkedList<Component>();
+
+	// every component of this entity other than the built-in ones, indexed by the id of its class
+	private Component[] componentSlots = new Component[ComponentRegistry.getComponentTypeAmount()];
+
+	// the tags of this entity, created when the first one is added
+	private Set<String> tags = null;
 	
-	// list of collision listeners
-	protected LinkedList<CollisionListener> collisionListeners = new LinkedList<CollisionListener>();
+	// list of collision listeners, also kept in an array so they can be notified without allocating
+	protected LinkedList<CollisionListener> collisionListeners = new CollisionListenerList();
+
+	private static final CollisionListener[] NO_LISTENERS = new CollisionListener[0];
+
+	// contact listeners, and those of them implementing onContactStay, copied on every change so they
+	// can be notified without allocating
+	private volatile ContactListener[] contactListeners = NO_CONTACT_LISTENERS;
+	private volatile ContactListener[] contactStayListeners = NO_CONTACT_LISTENERS;
+
+	private static final ContactListener[] NO_CONTACT_LISTENERS = new ContactListener[0];
 
 	public boolean started = false;
+
+	// sleeping entities are skipped by ticks until woken up
+	volatile boolean sleeping = false;
+
+	// where this entity is kept by the entity manager, -1 when it isn't in the game
+	int storeId = -1, storeIndex = -1;
+	boolean queuedForRemoval = false;
+
+	// the pool that built this entity, if any, and weather it is waiting there to be reused
+	EntityPool<?> pool = null;
+	boolean pooled = false;
+	
+	// how far between the previous and the current tick this entity is being rendered
+	protected double interpolation = 1;
 	
 	protected Entity() { this.initComponents();	}
 	
@@ -85,6 +124,7 @@ public abstract class Entity {
 		this.tc.setStartingX(startingX);
 		this.tc.setY(startingY);
 		this.tc.setStartingY(startingY);
+		this.tc.storePreviousPosition();
 		this.tc.setWidth(width);
 		this.tc.setHeight(height);
 		colisionBounds = new Rectangle(width, height);
@@ -106,6 +146,7 @@ public abstract class Entity {
 		this.tc.setStartingX(startingX);
 		this.tc.setY(startingY);
 		this.tc.setStartingY(startingY);
+		this.tc.storePreviousPosition();
 		this.texture = texture;
 		this.colisionBounds = texture.getBounds();
 		colisionBounds.setLocation(this.tc.getX(), this.tc.getY());
@@ -221,6 +262,52 @@ public abstract class Entity {
 		this.rc.render(g);
 	};
 	
+	/**
+	 * Renders the entity on the screen, placing it between the position it had on
+	 * the previous tick and its current position.
+	 * 
+	 * @param g             the <code>Graphics</code> object responsible for
+	 *                      rendering
+	 * @param interpolation how far between the previous and the current tick we
+	 *                      are, from {@code 0} to {@code 1}
+	 * @see #render(Graphics2D)
+	 * @since 2.1.0
+	 */
+	public void render(Graphics2D g, double interpolation) {
+		this.interpolation = interpolation;
+		this.render(g);
+	}
+	
+	/**
+	 * Renders the entity on the screen using the state captured in a
+	 * {@link WorldSnapshot} instead of its live state. This is called from the
+	 * render thread, so implementations must not read any state that changes
+	 * while the entity is ticked.
+	 * 
+	 * @param g        the <code>Graphics</code> object responsible for rendering
+	 * @param snapshot the snapshot holding this entity's state
+	 * @param index    the index of this entity in the snapshot
+	 * @param alpha    how far between the previous and the snapshot's tick we
+	 *                 are, from {@code 0} to {@code 1}
+	 * @since 2.1.0
+	 */
+	public void render(Graphics2D g, WorldSnapshot snapshot, int index, double alpha) {
+		this.rc.render(g, snapshot.getX(index, alpha), snapshot.getY(index, alpha), snapshot.getWidth(index),
+				snapshot.getHeight(index));
+	}
+	
+	/**
+	 * Returns how far between the previous and the current tick this entity is
+	 * currently being rendered.
+	 * 
+	 * @return the interpolation value used when rendering this entity, from
+	 *         {@code 0} to {@code 1}
+	 * @since 2.1.0
+	 */
+	public double getInterpolation() {
+		return interpolation;
+	}
+	
 	/**
 	 * Updates the entity and readies it for rendering. Also, all
 	 * {@link CollisionListener}s registered are notified if a collision happens.
@@ -230,16 +317,22 @@ public abstract class Entity {
 	 */
 	public void tick() {
 		// check collisions and notify listeners
+		long start = FrameProfiler.start();
 		if (this.cc != null)
 			this.cc.execute();
+		FrameProfiler.accumulate(FramePhase.COLLISION, start);
 
 		// move according to user input and collisions
+		start = FrameProfiler.start();
 		if (this.mc != null)
 			this.mc.execute();
+		FrameProfiler.accumulate(FramePhase.MOVEMENT, start);
 		
 		// execute all other components
+		start = FrameProfiler.start();
 		if(this.components != null)
 			this.components.forEach(Component::execute);
+		FrameProfiler.accumulate(FramePhase.SCRIPTS, start);
 		
 	};
 
@@ -262,6 +355,19 @@ public abstract class Entity {
 		return name;
 	}
 
+	/**
+	 * Returns a handle to this entity, which stops resolving once this entity is
+	 * removed from the game.
+	 * 
+	 * @return a handle to this entity, or {@link EntityHandle#NONE} if this entity
+	 *         isn't in the game
+	 * @see EntityManager#addEntity(Entity)
+	 * @since 2.1.0
+	 */
+	public EntityHandle getHandle() {
+		return EntityManager.handleOf(this);
+	}
+
 	/**
 	 * Sets up the key input listener.
 	 * 
@@ -279,28 +385,60 @@ public abstract class Entity {
 	 */
 	public abstract void restart();
 	
+	/**
+	 * Gets this entity ready to be added to the game again, starting at the given
+	 * position: its transform and movement are restarted, it runs its
+	 * {@link #startup()} again on its next tick and, at last, {@link #restart()} is
+	 * called so subclasses can reset their own state.
+	 * 
+	 * @param startingX the new starting x position of this entity
+	 * @param startingY the new starting y position of this entity
+	 * @see EntityPool#acquire(int, int)
+	 * @since 2.1.0
+	 */
+	void respawn(int startingX, int startingY) {
+		this.tc.setStartingX(startingX);
+		this.tc.setStartingY(startingY);
+		this.tc.restart();
+		this.mc.restart();
+		this.started = false;
+		this.sleeping = false;
+		this.restart();
+	}
+	
 	/**
 	 * Returns the component of class {@code componentClass} registered to this entity.
 	 * 
+	 * Only the first component registered of each class is returned.
+	 * 
 	 * @param <T> the type of component to return
 	 * @param componentClass the class of the component to be returned
-	 * @return the component of the given class
+	 * @return the component of the given class, or {@code null} if there is none
+	 * @throws IllegalArgumentException if {@code componentClass} is {@code null}
+	 * @see ComponentRegistry
 	 * @since 2.0.0
 	 */
-	public <T extends Component> Component getComponent(Class<T> componentClass) {
-		if(componentClass == MovementComponent.class)
+	@SuppressWarnings("unchecked")
+	public <T extends Component> T getComponent(Class<T> componentClass) throws IllegalArgumentException {
+		// components are found by exact class, so the component is always a T
+		return (T) componentAt(ComponentRegistry.idOf(componentClass));
+	}
+
+	// the built-in components are read from their fields, which subclasses may replace, and the
+	// others from their slots
+	private Component componentAt(int id) {
+		switch (id) {
+		case ComponentRegistry.TRANSFORM:
+			return this.tc;
+		case ComponentRegistry.MOVEMENT:
 			return this.mc;
-		else if (componentClass == CollisionComponent.class)
+		case ComponentRegistry.COLLISION:
 			return this.cc;
-		else if (componentClass == TransformComponent.class)
-			return this.tc;
-		else if (componentClass == RenderComponent.class)
+		case ComponentRegistry.RENDER:
 			return this.rc;
-		else
-			for(Component c : components)
-				if(componentClass == c.getClass())
-					return c;
-		return null;
+		default:
+			return id < componentSlots.length ? componentSlots[id] : null;
+		}
 	}
 	
 	/**
@@ -311,19 +449,124 @@ public abstract class Entity {
 	 */
 	public void registerComponent(Component c) {
 		Class<? extends Component> clazz = c.getClass();
+		int id = ComponentRegistry.idOf(clazz);
+		
+		// the built-in components can't be replaced
+		if (id <= ComponentRegistry.RENDER) return;
 		
-		if (clazz == TransformComponent.class || 
-			clazz == MovementComponent.class || 
-			clazz == CollisionComponent.class || 
-			clazz == RenderComponent.class) return;
+		if (id >= componentSlots.length)
+			componentSlots = Arrays.copyOf(componentSlots, Math.max(id + 1, ComponentRegistry.getComponentTypeAmount()));
 		
-		if (clazz != ScriptComponent.class)
-			for (Component component : components) 
-				if(clazz == component.getClass())
-					return;	
+		if (clazz != ScriptComponent.class && componentSlots[id] != null)
+			return;
 		ProgramLogger.writeLog("Registering component " + c.toString() + "!");
 		c.init();
 		components.add(c);
+		
+		if (componentSlots[id] == null) {
+			componentSlots[id] = c;
+			EntityManager.entityChanged(this);
+		}
+		
+		this.wake();
+	}
+
+	/**
+	 * Returns weather this entity is sleeping, and therefore skipped by ticks.
+	 * 
+	 * @return {@code true} if this entity is asleep, {@code false} otherwise
+	 * @see EntityManager#setSleepingEnabled(boolean)
+	 * @since 2.1.0
+	 */
+	public boolean isSleeping() {
+		return sleeping;
+	}
+
+	/**
+	 * Wakes this entity up, so it is ticked again. Does nothing if it isn't
+	 * sleeping.
+	 * 
+	 * @see EntityManager#setSleepingEnabled(boolean)
+	 * @since 2.1.0
+	 */
+	public void wake() {
+		if (sleeping)
+			sleeping = false;
+	}
+
+	// weather this entity has nothing to do on its next tick
+	boolean isIdle() {
+		return components.isEmpty() && !this.cc.hasCollider() && !this.cc.hasContacts() && this.mc.isIdle()
+				&& this.tc.getX() == this.tc.getPreviousX() && this.tc.getY() == this.tc.getPreviousY();
+	}
+
+	/**
+	 * Returns weather a component of class {@code componentClass} is registered to
+	 * this entity.
+	 * 
+	 * @param componentClass the class of the component to look for
+	 * @return {@code true} if this entity has such a component, {@code false}
+	 *         otherwise
+	 * @throws IllegalArgumentException if {@code componentClass} is {@code null}
+	 * @since 2.1.0
+	 */
+	public boolean hasComponent(Class<? extends Component> componentClass) throws IllegalArgumentException {
+		return hasComponent(ComponentRegistry.idOf(componentClass));
+	}
+
+	boolean hasComponent(int componentId) {
+		return componentAt(componentId) != null;
+	}
+
+	/**
+	 * Tags this entity, so it can be found through {@link EntityFilter#withTags}.
+	 * 
+	 * @param tag the tag to add
+	 * @throws IllegalArgumentException if {@code tag} is {@code null}
+	 * @since 2.1.0
+	 */
+	public void addTag(String tag) throws IllegalArgumentException {
+		if (tag == null)
+			throw new IllegalArgumentException("Tag can't be null");
+
+		if (tags == null)
+			tags = new HashSet<String>();
+
+		if (tags.add(tag))
+			EntityManager.entityChanged(this);
+	}
+
+	/**
+	 * Removes the given tag from this entity.
+	 * 
+	 * @param tag the tag to remove
+	 * @since 2.1.0
+	 */
+	public void removeTag(String tag) {
+		if (tags != null && tags.remove(tag))
+			EntityManager.entityChanged(this);
+	}
+
+	/**
+	 * Returns weather this entity has the given tag.
+	 * 
+	 * @param tag the tag to look for
+	 * @return {@code true} if this entity is tagged with {@code tag}, {@code false}
+	 *         otherwise
+	 * @since 2.1.0
+	 */
+	public boolean hasTag(String tag) {
+		return tags != null && tags.contains(tag);
+	}
+
+	/**
+	 * Returns the tags of this entity.
+	 * 
+	 * @return a read-only view of this entity's tags
+	 * @since 2.1.0
+	 */
+	public Set<String> getTags() {
+		return tags == null ? Collections.emptySet() : Collections.unmodifiableSet(tags);
 	}
 
 	/**
@@ -338,13 +581,17 @@ public abstract class Entity {
 	
 	/**
 	 * Registers this Entity's key input listener in the GameLauncher's main window.
+	 * When the world is headless the listener is only set up, so replayed input
+	 * can still be delivered to it.
 	 * 
+	 * @see jGame.core.input.InputReplay
 	 * @since 1.0.0
 	 */
 	public void registerInputListener() {
 		if (this.inputListener == null)
 			setUpInputListener();
-		GameLauncher.getMainWindow().addInputListener(inputListener, this);
+		if (!WorldBounds.isHeadless())
+			GameLauncher.getMainWindow().addInputListener(inputListener, this);
 	}
 
 	/**
@@ -377,6 +624,105 @@ public abstract class Entity {
 	public LinkedList<CollisionListener> getCollisionListeners() {
 		return this.collisionListeners;
 	}
+
+	/**
+	 * Returns the collision listeners registered for this entity as an array. The
+	 * array is kept until the listeners change, so notifying them allocates
+	 * nothing, and must not be modified. Listeners added or removed while it is
+	 * being iterated only show up in the next array returned.
+	 * 
+	 * @return the collision listeners registered for this entity
+	 * @since 2.1.0
+	 */
+	public CollisionListener[] getCollisionListenerArray() {
+		LinkedList<CollisionListener> listeners = this.collisionListeners;
+		if (listeners instanceof CollisionListenerList)
+			return ((CollisionListenerList) listeners).toCachedArray();
+		return listeners.toArray(NO_LISTENERS);
+	}
+
+	/**
+	 * Registers a {@link ContactListener} that will be told when this entity
+	 * starts touching, keeps touching and stops touching other entities or the
+	 * walls.
+	 * 
+	 * @param contactListener the contact listener to add
+	 * @throws IllegalArgumentException if {@code contactListener} is {@code null}
+	 * @see ContactListener
+	 * @since 2.1.0
+	 */
+	public synchronized void addContactListener(ContactListener contactListener) throws IllegalArgumentException {
+		if (contactListener == null)
+			throw new IllegalArgumentException("Contact listener can't be null");
+
+		this.contactListeners = append(this.contactListeners, contactListener);
+		if (listensForStay(contactListener))
+			this.contactStayListeners = append(this.contactStayListeners, contactListener);
+	}
+
+	/**
+	 * Removes the given {@link ContactListener} from this entity. Contacts still
+	 * going on aren't told to it as ended.
+	 * 
+	 * @param contactListener the contact listener to remove
+	 * @since 2.1.0
+	 */
+	public synchronized void removeContactListener(ContactListener contactListener) {
+		this.contactListeners = without(this.contactListeners, contactListener);
+		this.contactStayListeners = without(this.contactStayListeners, contactListener);
+	}
+
+	/**
+	 * Returns the contact listeners registered for this entity. The array is kept
+	 * until the listeners change, so notifying them allocates nothing, and must
+	 * not be modified.
+	 * 
+	 * @return the contact listeners registered for this entity
+	 * @since 2.1.0
+	 */
+	public ContactListener[] getContactListenerArray() {
+		return this.contactListeners;
+	}
+
+	/**
+	 * Returns the contact listeners registered for this entity that implement
+	 * {@link ContactListener#onContactStay(CollisionEvent)}, the only ones told
+	 * of contacts going on. The array must not be modified.
+	 * 
+	 * @return the contact listeners wanting to know of contacts going on
+	 * @since 2.1.0
+	 */
+	public ContactListener[] getContactStayListenerArray() {
+		return this.contactStayListeners;
+	}
+
+	// weather the given listener overrides onContactStay, and so needs to be told of contacts going on
+	private static boolean listensForStay(ContactListener listener) {
+		try {
+			return listener.getClass().getMethod("onContactStay", CollisionEvent.class)
+					.getDeclaringClass() != ContactListener.class;
+		} catch (NoSuchMethodException e) {
+			return true;
+		}
+	}
+
+	private static ContactListener[] append(ContactListener[] listeners, ContactListener listener) {
+		ContactListener[] appended = Arrays.copyOf(listeners, listeners.length + 1);
+		appended[listeners.length] = listener;
+		return appended;
+	}
+
+	private static ContactListener[] without(ContactListener[] listeners, ContactListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				ContactListener[] removed = new ContactListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, removed, 0, i);
+				System.arraycopy(listeners, i + 1, removed, i, listeners.length - i - 1);
+				return removed.length == 0 ? NO_CONTACT_LISTENERS : removed;
+			}
+		}
+		return listeners;
+	}
 	
 	/**
 	 * Initial startup process for this entity.
@@ -400,4 +746,34 @@ public abstract class Entity {
 	public String toString() {
 		return "Entity [name=" + name + ", x=" + this.tc.getX() + ", y=" +this.tc.getY() + ", width=" + this.tc.getWidth() + ", height=" + this.tc.getHeight() + "]";
 	}	
+
+	/**
+	 * A list of collision listeners that keeps a copy of itself in an array, made
+	 * again only once the list has changed.
+	 * 
+	 * @author Nuno Pereira
+	 * @since 2.1.0
+	 */
+	private static final class CollisionListenerList extends LinkedList<CollisionListener> {
+
+		private static final long serialVersionUID = -4316873457180346627L;
+
+		private transient CollisionListener[] array = null;
+		private transient int arrayModCount;
+
+		CollisionListener[] toCachedArray() {
+			// every change but set counts as a modification
+			if (array == null || arrayModCount != modCount) {
+				array = toArray(NO_LISTENERS);
+				arrayModCount = modCount;
+			}
+			return array;
+		}
+
+		@Override
+		public CollisionListener set(int index, CollisionListener element) {
+			array = null;
+			return super.set(index, element);
+		}
+	}
 }
@@ -0,0 +1,209 @@
+package jGame.core.entity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import jGame.core.entity.component.Component;
+import jGame.core.entity.component.ComponentRegistry;
+
+/**
+ * Describes the entities an {@link EntityQuery} holds: those with every given
+ * component, every given tag and, optionally, a given name. Filters are
+ * immutable and can be combined with {@link #and(EntityFilter)}. Equal filters
+ * share the same query.
+ *
+ * @see EntityManager#query(EntityFilter)
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class EntityFilter {
+
+	private static final EntityFilter ALL = new EntityFilter(Collections.emptySet(), Collections.emptySet(), null);
+
+	private final Set<Class<? extends Component>> components;
+	private final Set<String> tags;
+	private final String name;
+
+	// the registry ids of the required components, so matching needs no lookups
+	private final int[] componentIds;
+
+	private EntityFilter(Set<Class<? extends Component>> components, Set<String> tags, String name) {
+		this.components = components;
+		this.tags = tags;
+		this.name = name;
+
+		this.componentIds = new int[components.size()];
+		int i = 0;
+		for (Class<? extends Component> component : components)
+			this.componentIds[i++] = ComponentRegistry.idOf(component);
+	}
+
+	/**
+	 * Returns a filter matching every entity.
+	 *
+	 * @return a filter matching every entity
+	 * @since 2.1.0
+	 */
+	public static EntityFilter all() {
+		return ALL;
+	}
+
+	/**
+	 * Returns a filter matching the entities with every given component.
+	 *
+	 * @param components the classes of the required components
+	 * @return the filter
+	 * @throws IllegalArgumentException if any of the classes is {@code null}
+	 * @see Entity#hasComponent(Class)
+	 * @since 2.1.0
+	 */
+	@SafeVarargs
+	public static EntityFilter withComponents(Class<? extends Component>... components)
+			throws IllegalArgumentException {
+		// copied one by one, since handing the generic array on could pollute the heap
+		HashSet<Class<? extends Component>> required = new HashSet<Class<? extends Component>>();
+		for (Class<? extends Component> component : components) {
+			if (component == null)
+				throw new IllegalArgumentException("Component classes can't be null");
+			required.add(component);
+		}
+
+		return new EntityFilter(Collections.unmodifiableSet(required), Collections.emptySet(), null);
+	}
+
+	/**
+	 * Returns a filter matching the entities with every given tag.
+	 *
+	 * @param tags the required tags
+	 * @return the filter
+	 * @throws IllegalArgumentException if any of the tags is {@code null}
+	 * @see Entity#hasTag(String)
+	 * @since 2.1.0
+	 */
+	public static EntityFilter withTags(String... tags) throws IllegalArgumentException {
+		if (Arrays.asList(tags).contains(null))
+			throw new IllegalArgumentException("Tags can't be null");
+
+		return new EntityFilter(Collections.emptySet(), Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(tags))),
+				null);
+	}
+
+	/**
+	 * Returns a filter matching the entities with the given name.
+	 *
+	 * @param name the required name
+	 * @return the filter
+	 * @throws IllegalArgumentException if {@code name} is {@code null}
+	 * @see Entity#getName()
+	 * @since 2.1.0
+	 */
+	public static EntityFilter named(String name) throws IllegalArgumentException {
+		if (name == null)
+			throw new IllegalArgumentException("Name can't be null");
+
+		return new EntityFilter(Collections.emptySet(), Collections.emptySet(), name);
+	}
+
+	/**
+	 * Returns a filter matching the entities matched by both this filter and the
+	 * given one.
+	 *
+	 * @param other the filter to combine with this one
+	 * @return the combined filter
+	 * @throws IllegalArgumentException if {@code other} is {@code null}, or both
+	 *                                  filters require different names
+	 * @since 2.1.0
+	 */
+	public EntityFilter and(EntityFilter other) throws IllegalArgumentException {
+		if (other == null)
+			throw new IllegalArgumentException("Filter can't be null");
+		if (this.name != null && other.name != null && !this.name.equals(other.name))
+			throw new IllegalArgumentException("Can't require both names " + this.name + " and " + other.name);
+
+		HashSet<Class<? extends Component>> components = new HashSet<Class<? extends Component>>(this.components);
+		components.addAll(other.components);
+
+		HashSet<String> tags = new HashSet<String>(this.tags);
+		tags.addAll(other.tags);
+
+		return new EntityFilter(Collections.unmodifiableSet(components), Collections.unmodifiableSet(tags),
+				this.name != null ? this.name : other.name);
+	}
+
+	/**
+	 * Returns weather the given entity passes this filter.
+	 *
+	 * @param entity the entity to check
+	 * @return {@code true} if the entity matches, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean matches(Entity entity) {
+
+		if (name != null && !name.equals(entity.getName()))
+			return false;
+
+		for (int id : componentIds)
+			if (!entity.hasComponent(id))
+				return false;
+
+		for (String tag : tags)
+			if (!entity.hasTag(tag))
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Returns the classes of the components required by this filter.
+	 *
+	 * @return the required components
+	 * @since 2.1.0
+	 */
+	public Set<Class<? extends Component>> getComponents() {
+		return components;
+	}
+
+	/**
+	 * Returns the tags required by this filter.
+	 *
+	 * @return the required tags
+	 * @since 2.1.0
+	 */
+	public Set<String> getTags() {
+		return tags;
+	}
+
+	/**
+	 * Returns the name required by this filter.
+	 *
+	 * @return the required name, or {@code null} if any name matches
+	 * @since 2.1.0
+	 */
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof EntityFilter))
+			return false;
+
+		EntityFilter other = (EntityFilter) obj;
+		return components.equals(other.components) && tags.equals(other.tags)
+				&& (name == null ? other.name == null : name.equals(other.name));
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * components.hashCode() + tags.hashCode()) + (name == null ? 0 : name.hashCode());
+	}
+
+	@Override
+	public String toString() {
+		return "EntityFilter [components=" + components + ", tags=" + tags + ", name=" + name + "]";
+	}
+}
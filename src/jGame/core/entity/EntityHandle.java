@@ -0,0 +1,80 @@
+package jGame.core.entity;
+
+/**
+ * A reference to an {@link Entity} that can tell when the entity it refers to
+ * is gone. Every time an entity is added to the game it gets an id and a
+ * generation; once it is removed the id is reused by other entities with a
+ * newer generation, so a handle taken before the removal no longer resolves.
+ * <br>
+ * <br>
+ * Unlike holding the entity itself, holding a handle doesn't keep a removed
+ * entity from being garbage collected.
+ *
+ * @see Entity#getHandle()
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class EntityHandle {
+
+	/**
+	 * A handle that never resolves to an entity.
+	 * 
+	 * @since 2.1.0
+	 */
+	public static final EntityHandle NONE = new EntityHandle(-1, 0);
+
+	private final int id, generation;
+
+	EntityHandle(int id, int generation) {
+		this.id = id;
+		this.generation = generation;
+	}
+
+	/**
+	 * Returns the entity this handle refers to, if it is still in the game.
+	 *
+	 * @return the entity, or {@code null} if it has been removed
+	 * @since 2.1.0
+	 */
+	public Entity get() {
+		return EntityManager.resolve(this);
+	}
+
+	/**
+	 * Returns weather the entity this handle refers to is still in the game.
+	 *
+	 * @return {@code true} if this handle still resolves to an entity,
+	 *         {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean isValid() {
+		return get() != null;
+	}
+
+	int getId() {
+		return id;
+	}
+
+	int getGeneration() {
+		return generation;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof EntityHandle))
+			return false;
+
+		EntityHandle other = (EntityHandle) obj;
+		return this.id == other.id && this.generation == other.generation;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * id + generation;
+	}
+
+	@Override
+	public String toString() {
+		return "EntityHandle [id=" + id + ", generation=" + generation + "]";
+	}
+}
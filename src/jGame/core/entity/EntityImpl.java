@@ -3,7 +3,6 @@ package jGame.core.entity;
 import java.awt.Color;
 import java.awt.Graphics2D;
 
-import jGame.core.entity.component.Component;
 import jGame.core.entity.render.Sprite;
 
 /**
@@ -153,13 +152,7 @@ public final class EntityImpl extends Entity {
 
 	@Override
 	public synchronized void tick() {
-
-		this.cc.execute();
-
-		this.mc.execute();
-		
-		if(this.components != null)
-			this.components.forEach(Component::execute);
+		super.tick();
 	}
 
 	@Override
@@ -167,15 +160,31 @@ public final class EntityImpl extends Entity {
 		
 		// change rendering code based on render type, aka, if this entity has a sprite
 		// or not
+		int x = this.tc.getInterpolatedX(this.interpolation), y = this.tc.getInterpolatedY(this.interpolation);
+		
+		if (renderSprite) {
+			while (!g.drawImage(texture.render(), x, y, null));
+		} else {
+			Color startingColor = g.getColor();
+
+			g.setColor(Color.WHITE);
+			g.fillRect(x, y, (int) this.getColisionBounds().getWidth(), (int) this.getColisionBounds().getHeight());
+			g.setColor(startingColor);
+		}
+	}
+
+	@Override
+	public void render(Graphics2D g, WorldSnapshot snapshot, int index, double alpha) {
+		
+		int x = snapshot.getX(index, alpha), y = snapshot.getY(index, alpha);
+		
 		if (renderSprite) {
-			while (!g.drawImage(texture.render(), (int) this.getColisionBounds().getX(),
-					(int) this.getColisionBounds().getY(), null));
+			while (!g.drawImage(snapshot.getSprite(index), x, y, null));
 		} else {
 			Color startingColor = g.getColor();
 
 			g.setColor(Color.WHITE);
-			g.fillRect((int) this.getColisionBounds().getX(), (int) this.getColisionBounds().getY(),
-					(int) this.getColisionBounds().getWidth(), (int) this.getColisionBounds().getHeight());
+			g.fillRect(x, y, snapshot.getWidth(index), snapshot.getHeight(index));
 			g.setColor(startingColor);
 		}
 	}
@@ -1,7 +1,25 @@
 package jGame.core.entity;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 
+import jGame.core.entity.component.CollisionComponent;
+import jGame.core.entity.component.PackedStorage;
+import jGame.core.entity.component.BroadPhase;
+import jGame.core.entity.component.SpatialHash;
+import jGame.core.entity.component.SweepAndPrune;
+import jGame.core.launcher.GameLauncher;
+import jGame.core.launcher.WorldBounds;
+import jGame.core.utils.profiler.FramePhase;
+import jGame.core.utils.profiler.FrameProfiler;
+import jGame.core.utils.properties.PropertiesManager;
 import jGame.logging.ProgramLogger;
 
 /**
@@ -14,12 +32,307 @@ import jGame.logging.ProgramLogger;
  */
 public class EntityManager {
 
-	// the lists of entities/entities to remove
-	private static final ArrayList<Entity> ENTITIES_LIST = new ArrayList<Entity>();
-	private static final ArrayList<Entity> ENTITIES_TO_REMOVE_LIST = new ArrayList<Entity>();
-	// we need this extra list because of the way entities are updated. If we remove
-	// from the update queue every entity queued for removal, less updates are done,
-	// increasing overall performance.
+	// the entities in the game. Removals are queued and only applied at the start of
+	// the next tick, so entities aren't removed from under the update loop
+	private static final EntityStore ENTITIES = new EntityStore();
+	private static final List<Entity> ENTITIES_LIST = ENTITIES.asList();
+
+	// copy-on-write view of the entities for readers that don't hold the lock. Entities
+	// added during a tick are published at the start of the next one, so every reader
+	// in a tick sees the same entities, while entities added between ticks are
+	// published on the next read, so adding many entities copies them only once
+	private static volatile List<Entity> publishedEntities = Collections.emptyList();
+	private static volatile boolean publishPending = false;
+	private static boolean entitiesChanged = false, ticking = false;
+
+	// live queries, updated as entities change
+	private static final HashMap<EntityFilter, EntityQuery> QUERIES = new HashMap<EntityFilter, EntityQuery>();
+
+	static {
+		ENTITIES.setPacked(Boolean.parseBoolean(PropertiesManager.getPropertyOrDefault("entity.packedStorage", "false")));
+	}
+	
+	// parallel ticking: collision detection is split across a fork-join pool before
+	// the entities are ticked, in order, on the calling thread. Collisions are detected
+	// against the positions at the start of the tick, so events differ from serial ticking
+	private static boolean parallelTicking = Boolean
+			.parseBoolean(PropertiesManager.getPropertyOrDefault("entity.parallelTick", "false"));
+	private static ForkJoinPool tickPool = null;
+
+	private static final String PARALLEL_TICKING_WARNING = "Collisions are detected against the positions at the start of the tick, so events differ from serial ticking";
+
+	static {
+		if (parallelTicking)
+			ProgramLogger.writeLog("Parallel ticking enabled. " + PARALLEL_TICKING_WARNING);
+	}
+
+	// the collision broad-phase every entity is kept in, if any
+	private static BroadPhase broadPhase = null;
+
+	static {
+		String broadPhaseName = PropertiesManager.getPropertyOrDefault("collision.broadPhase", "none");
+		try {
+			switch (broadPhaseName) {
+			case "none":
+				break;
+			case "spatialHash":
+				broadPhase = new SpatialHash(
+						Integer.parseInt(PropertiesManager.getPropertyOrDefault("collision.cellSize", "64")));
+				break;
+			case "sweepAndPrune":
+				broadPhase = new SweepAndPrune();
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown broad-phase " + broadPhaseName);
+			}
+		} catch (IllegalArgumentException e) {
+			ProgramLogger.writeErrorLog(e, "Invalid collision broad-phase settings, not using a broad-phase");
+		}
+	}
+
+	// pair pass: collisions are detected once per pair of entities, for both sides, before ticking
+	private static boolean pairCollisionPass = Boolean
+			.parseBoolean(PropertiesManager.getPropertyOrDefault("collision.pairPass", "false"));
+
+	// event reuse: collision components reuse their events once delivered instead of making new ones
+	private static volatile boolean collisionEventReuse = Boolean
+			.parseBoolean(PropertiesManager.getPropertyOrDefault("collision.reuseEvents", "false"));
+
+	// sleeping: idle entities are skipped by ticks until something wakes them up
+	private static boolean sleepingEnabled = Boolean
+			.parseBoolean(PropertiesManager.getPropertyOrDefault("entity.sleeping", "false"));
+
+	// the entities ticked with buffered collisions, reused between ticks
+	private static final ArrayList<Entity> ENTITIES_TO_TICK = new ArrayList<Entity>();
+
+	// the number of entities below which a collision detection task isn't split any further
+	private static final int PARALLEL_TICK_THRESHOLD = 64;
+
+	// triple buffered snapshots for the render thread: one being written by the
+	// simulation, one being read by the renderer and the latest one published
+	private static final AtomicReference<WorldSnapshot> LATEST_SNAPSHOT = new AtomicReference<WorldSnapshot>(
+			new WorldSnapshot());
+	private static WorldSnapshot backSnapshot = new WorldSnapshot(), frontSnapshot = new WorldSnapshot();
+	private static long snapshotSequence = 0;
+
+	/**
+	 * Sets weather entities should be ticked in parallel. When enabled, the
+	 * collisions of every entity are detected concurrently on a
+	 * {@link ForkJoinPool}, against the positions entities had at the start of
+	 * the tick. The entities are then ticked one at a time, in the order they were
+	 * added, with their {@link jGame.core.entity.event.CollisionListener}s
+	 * receiving the buffered events in the order they were detected. This makes
+	 * the outcome of a tick independent of the number of threads used. <br>
+	 * <br>
+	 * <b>This changes which collisions are reported.</b> When ticking serially,
+	 * each entity detects its collisions as it is ticked, after the entities
+	 * ticked before it have already moved, which can't be done concurrently. With
+	 * parallel ticking every entity sees the others where they were at the start
+	 * of the tick instead, so as soon as entities move, events may differ from
+	 * serial ticking: a collision may be reported a tick earlier or later, or not
+	 * at all for entities that only touch for a single tick. Parallel runs only
+	 * match other parallel runs, and the pair collision pass, which detects
+	 * collisions in the same way. Games relying on the exact events of serial
+	 * ticking should leave it disabled.
+	 * 
+	 * @param parallelTicking weather to tick entities in parallel
+	 * @see CollisionComponent#bufferCollisions(List)
+	 * @see #setPairCollisionPass(boolean)
+	 * @since 2.1.0
+	 */
+	public static synchronized void setParallelTicking(boolean parallelTicking) {
+		ProgramLogger.writeLog(parallelTicking ? "Enabling parallel ticking. " + PARALLEL_TICKING_WARNING
+				: "Disabling parallel ticking");
+		EntityManager.parallelTicking = parallelTicking;
+	}
+
+	/**
+	 * Returns weather entities are ticked in parallel.
+	 * 
+	 * @return {@code true} if entities are ticked in parallel, {@code false}
+	 *         otherwise
+	 * @since 2.1.0
+	 */
+	public static boolean isParallelTicking() {
+		return parallelTicking;
+	}
+	
+	/**
+	 * Sets the broad-phase used to find the entities each entity may collide with,
+	 * so only those are tested for collisions. Every entity in the game is moved
+	 * to the new broad-phase, and entities are added to and removed from it along
+	 * with the game from then on. The events delivered are the same as without a
+	 * broad-phase, and in the same order.
+	 * 
+	 * @param broadPhase the broad-phase to use, or {@code null} to test every
+	 *                   entity against every other
+	 * @see jGame.core.launcher.GameState#setBroadPhase(BroadPhase)
+	 * @since 2.1.0
+	 */
+	public static synchronized void setBroadPhase(BroadPhase broadPhase) {
+		ProgramLogger.writeLog(broadPhase == null ? "Disabling collision broad-phase"
+				: "Using collision broad-phase " + broadPhase);
+
+		if (EntityManager.broadPhase != null)
+			EntityManager.broadPhase.clear();
+
+		EntityManager.broadPhase = broadPhase;
+
+		if (broadPhase != null) {
+			broadPhase.clear();
+			for (Entity entity : ENTITIES_LIST)
+				broadPhase.insert(entity.cc);
+		}
+	}
+
+	/**
+	 * Returns the broad-phase used to find the entities each entity may collide
+	 * with.
+	 * 
+	 * @return the broad-phase in use, or {@code null} if every entity is tested
+	 *         against every other
+	 * @since 2.1.0
+	 */
+	public static synchronized BroadPhase getBroadPhase() {
+		return broadPhase;
+	}
+
+	/**
+	 * Sets weather collisions are detected in a single pass over every pair of
+	 * entities before they are ticked, instead of by each entity as it ticks. Each
+	 * pair is then tested once rather than once from each side, halving the
+	 * collision tests, and every collision found produces one event, delivered to
+	 * the listeners of both entities. The event's source is the entity added to
+	 * the game first, so listeners on the other side see themselves as its target.
+	 * <br>
+	 * <br>
+	 * As with parallel ticking, every collision is detected against the positions
+	 * entities had at the start of the tick, so the events delivered differ from
+	 * serial ticking in the same way, and each entity gets its events in the
+	 * order it would have detected them itself. The pass runs on the calling
+	 * thread, taking the place of parallel collision detection when both are
+	 * enabled.
+	 * 
+	 * @param pairCollisionPass weather to detect collisions once per pair of
+	 *                          entities
+	 * @see CollisionComponent#bufferPairCollisions(List, List)
+	 * @since 2.1.0
+	 */
+	public static synchronized void setPairCollisionPass(boolean pairCollisionPass) {
+		ProgramLogger.writeLog((pairCollisionPass ? "Enabling" : "Disabling") + " pair collision pass");
+		EntityManager.pairCollisionPass = pairCollisionPass;
+	}
+
+	/**
+	 * Returns weather collisions are detected once per pair of entities.
+	 * 
+	 * @return {@code true} if collisions are detected in a pair pass,
+	 *         {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public static boolean isPairCollisionPass() {
+		return pairCollisionPass;
+	}
+
+	/**
+	 * Sets weather collision components reuse their
+	 * {@link jGame.core.entity.event.CollisionEvent}s. When
+	 * enabled, the events made by a component while detecting collisions are
+	 * reused the next time it does, by which time they have been delivered to
+	 * every listener, so detecting and dispatching collisions allocates nothing
+	 * once every component has made as many events as it needs. <br>
+	 * <br>
+	 * Listeners then only own an event while handling it: one kept for later
+	 * changes along with the next collisions, and should be copied instead.
+	 * 
+	 * @param collisionEventReuse weather to reuse collision events
+	 * @see jGame.core.entity.event.CollisionEvent#set
+	 * @since 2.1.0
+	 */
+	public static synchronized void setCollisionEventReuse(boolean collisionEventReuse) {
+		ProgramLogger.writeLog((collisionEventReuse ? "Enabling" : "Disabling") + " collision event reuse");
+		EntityManager.collisionEventReuse = collisionEventReuse;
+	}
+
+	/**
+	 * Returns weather collision components reuse their events.
+	 * 
+	 * @return {@code true} if collision events are reused, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public static boolean isCollisionEventReuse() {
+		return collisionEventReuse;
+	}
+
+	/**
+	 * Sets weather idle entities are put to sleep. When enabled, an entity that
+	 * ends a tick without having moved, with no movement direction, no pressed keys
+	 * or active key bindings, no custom collider and no components other than the
+	 * built-in ones, such as a wall or a decoration, falls asleep and is skipped by
+	 * every following tick. Its collision bounds are still seen by the other
+	 * entities. <br>
+	 * <br>
+	 * A sleeping entity wakes up when it receives key input, when an entity that is
+	 * moving or moved since its previous tick, be it by its movement, a script or
+	 * its transform, collides with it, when its position, movement, collider or
+	 * components change, or when {@link Entity#wake()} is called. It is ticked again from the
+	 * next time the tick reaches it, so an entity woken by a collision with an
+	 * entity ticked after it only sees that collision on the following tick, if the
+	 * two still overlap. Disabling sleeping wakes every entity up.
+	 * 
+	 * @param sleepingEnabled weather to put idle entities to sleep
+	 * @see Entity#isSleeping()
+	 * @since 2.1.0
+	 */
+	public static synchronized void setSleepingEnabled(boolean sleepingEnabled) {
+		ProgramLogger.writeLog((sleepingEnabled ? "Enabling" : "Disabling") + " entity sleeping");
+		EntityManager.sleepingEnabled = sleepingEnabled;
+
+		if (!sleepingEnabled)
+			for (Entity entity : ENTITIES_LIST)
+				entity.wake();
+	}
+
+	/**
+	 * Returns weather idle entities are put to sleep.
+	 * 
+	 * @return {@code true} if idle entities sleep, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public static boolean isSleepingEnabled() {
+		return sleepingEnabled;
+	}
+
+	/**
+	 * Sets weather the transform, velocity and collision bounds of every entity are
+	 * kept in the {@link PackedStorage}, a set of primitive arrays with one row per
+	 * entity, in tick order. When enabled, collision detection and the storing of
+	 * previous positions scan those arrays linearly instead of visiting every
+	 * entity, which keeps large worlds cache friendly. <br>
+	 * <br>
+	 * While packed, collision bounds are only kept up to date through
+	 * {@link CollisionComponent#moveBounds(int, int)}, so they must not be moved
+	 * directly. Can only be changed while there are no entities in the game.
+	 * 
+	 * @param packedStorage weather to keep the entities' data packed
+	 * @throws IllegalStateException if there are entities in the game
+	 * @since 2.1.0
+	 */
+	public static synchronized void setPackedStorage(boolean packedStorage) throws IllegalStateException {
+		ENTITIES.setPacked(packedStorage);
+		ProgramLogger.writeLog((packedStorage ? "Enabling" : "Disabling") + " packed entity storage");
+	}
+
+	/**
+	 * Returns weather the entities' data is kept in the {@link PackedStorage}.
+	 * 
+	 * @return {@code true} if the entities' data is packed, {@code false}
+	 *         otherwise
+	 * @since 2.1.0
+	 */
+	public static synchronized boolean isPackedStorage() {
+		return ENTITIES.isPacked();
+	}
 	
 	/**
 	 * Adds an entity to the entities list, if it isn't already present, otherwise
@@ -29,27 +342,135 @@ public class EntityManager {
 	 * @since 1.0.0
 	 */
 	public synchronized static void addEntity(Entity entityToAdd) {
-		if(ENTITIES_LIST.contains(entityToAdd))
-			return;
+		if (spawnEntity(entityToAdd))
+			ProgramLogger.writeLog("Adding entity: " + entityToAdd);
+	}
+
+	// adds an entity without logging it, returning weather it was added. Used by entity pools, which
+	// spawn too often for every spawn to be logged
+	synchronized static boolean spawnEntity(Entity entityToAdd) {
+		if(!ENTITIES.add(entityToAdd))
+			return false;
+		
+		if (broadPhase != null)
+			broadPhase.insert(entityToAdd.cc);
 		
-		ProgramLogger.writeLog("Adding entity: " + entityToAdd);
-		ENTITIES_LIST.add(entityToAdd);
+		entitiesChanged = true;
+		if (!ticking)
+			publishPending = true;
+		
+		for (EntityQuery query : QUERIES.values())
+			query.update(entityToAdd);
+
+		return true;
+	}
+	
+	/**
+	 * Adds every given entity that isn't already present to the entities list, in
+	 * order, and registers their key input listeners. Every entity is checked
+	 * before any is added, and a single line is logged for the whole batch, so
+	 * this is the way to load levels with many entities.
+	 * 
+	 * @param entitiesToAdd the entities to add to the game
+	 * @throws IllegalArgumentException if {@code entitiesToAdd} is {@code null} or
+	 *                                  holds a {@code null} entity
+	 * @see #addEntity(Entity)
+	 * @see #registerInputListeners(Collection)
+	 * @since 2.1.0
+	 */
+	public synchronized static void addEntities(Collection<? extends Entity> entitiesToAdd)
+			throws IllegalArgumentException {
+
+		validate(entitiesToAdd);
+
+		ArrayList<Entity> added = new ArrayList<Entity>(entitiesToAdd.size());
+		for (Entity entity : entitiesToAdd)
+			if (ENTITIES.add(entity)) {
+				added.add(entity);
+				if (broadPhase != null)
+					broadPhase.insert(entity.cc);
+			}
+
+		int skipped = entitiesToAdd.size() - added.size();
+		ProgramLogger.writeLog("Adding " + added.size() + " entities"
+				+ (skipped > 0 ? " (" + skipped + " already in the game)" : ""));
+
+		if (added.isEmpty())
+			return;
+
+		entitiesChanged = true;
+		if (!ticking)
+			publishPending = true;
+
+		for (EntityQuery query : QUERIES.values())
+			for (Entity entity : added)
+				query.update(entity);
+
+		registerInputListeners(added);
+	}
+
+	/**
+	 * Queues every given entity for removal.
+	 * 
+	 * @param entitiesToRemove the entities to remove
+	 * @throws IllegalArgumentException if {@code entitiesToRemove} is {@code null}
+	 *                                  or holds a {@code null} entity
+	 * @see #removeEntity(Entity)
+	 * @since 2.1.0
+	 */
+	public synchronized static void removeEntities(Collection<? extends Entity> entitiesToRemove)
+			throws IllegalArgumentException {
+
+		validate(entitiesToRemove);
+
+		int queued = 0;
+		for (Entity entity : entitiesToRemove)
+			if (ENTITIES.queueRemoval(entity))
+				queued++;
+
+		ProgramLogger.writeLog("Removing " + queued + " entities");
+	}
+
+	private static void validate(Collection<? extends Entity> entities) throws IllegalArgumentException {
+		if (entities == null)
+			throw new IllegalArgumentException("Entity collection can't be null");
+
+		for (Entity entity : entities)
+			if (entity == null)
+				throw new IllegalArgumentException("Entity collection can't hold null entities");
 	}
 	
 	/**
 	 * Registers the key input listeners for every {@link Entity} present in the
-	 * entities list.
+	 * entities list. Only sets them up if the world is headless.
 	 * 
+	 * @see WorldBounds#isHeadless()
 	 * @since 1.0.0
 	 */
 	public synchronized static void registerInputListeners() {
+		registerInputListeners(ENTITIES_LIST);
+	}
+
+	/**
+	 * Registers the key input listeners of the given entities, setting up those
+	 * that don't have one yet. If the world is headless the listeners are only
+	 * set up, for replayed input, and nothing is done if there is no window yet.
+	 * 
+	 * @param entities the entities whose listeners to register
+	 * @see WorldBounds#isHeadless()
+	 * @since 2.1.0
+	 */
+	public synchronized static void registerInputListeners(Collection<? extends Entity> entities) {
+
+		if (!WorldBounds.isHeadless() && GameLauncher.getMainWindow() == null)
+			return;
 
-		ProgramLogger.writeLog("Registering input listeners for added entities!");
+		ProgramLogger.writeLog("Registering input listeners for " + entities.size() + " entities");
 
-		ENTITIES_LIST.forEach((entity) -> {
-			entity.setUpInputListener();
+		// listeners are only set up once, so registering twice doesn't leave a stale
+		// listener behind
+		for (Entity entity : entities)
 			entity.registerInputListener();
-		});
 	}
 
 	/**
@@ -61,7 +482,7 @@ public class EntityManager {
 	 */
 	public synchronized static void removeEntity(int entityIndex) {
 		ProgramLogger.writeLog("Removing entity at index " + entityIndex);
-		ENTITIES_TO_REMOVE_LIST.add(ENTITIES_LIST.get(entityIndex));
+		ENTITIES.queueRemoval(ENTITIES.get(entityIndex));
 	}
 	
 	/**
@@ -72,10 +493,13 @@ public class EntityManager {
 	 * @since 1.0.0
 	 */
 	public synchronized static void removeEntity(Entity entityToRemove) {
-		if (ENTITIES_LIST.contains(entityToRemove)) {
+		if (ENTITIES.queueRemoval(entityToRemove))
 			ProgramLogger.writeLog("Removing entity: " + entityToRemove);
-			ENTITIES_TO_REMOVE_LIST.add(entityToRemove);
-		}
+	}
+
+	// queues an entity for removal without logging it, the counterpart of spawnEntity
+	synchronized static void despawnEntity(Entity entityToRemove) {
+		ENTITIES.queueRemoval(entityToRemove);
 	}
 	
 	/**
@@ -108,16 +532,35 @@ public class EntityManager {
 	 * 
 	 * @param g the Graphics object responsible for rendering the objects on the
 	 *          screen.
+	 * @see #renderEntities(java.awt.Graphics2D, double)
 	 * @since 1.0.0
 	 */
-	public static synchronized void renderEntities(java.awt.Graphics2D g) {
+	public static void renderEntities(java.awt.Graphics2D g) {
+		renderEntities(g, 1);
+	}
+	
+	/**
+	 * Renders all entities that are marked as renderable, placing them between the
+	 * position they had on the previous tick and their current position. The
+	 * entities rendered are those returned by {@link #getEntities()}, and the
+	 * entity manager isn't locked, so this doesn't wait for a tick to finish. A
+	 * renderer running alongside the game loop may therefore see an entity halfway
+	 * through its tick; use {@link #renderSnapshot} when that matters.
+	 * 
+	 * @param g             the Graphics object responsible for rendering the
+	 *                      objects on the screen.
+	 * @param interpolation how far between the previous and the current tick we
+	 *                      are, from {@code 0} to {@code 1}
+	 * @see Entity#render(java.awt.Graphics2D, double)
+	 * @since 2.1.0
+	 */
+	public static void renderEntities(java.awt.Graphics2D g, double interpolation) {
 		// since this is called after tick (when it is eventually called), we don't need
 		// to check for removed entities, we only care about rendering what we have on
 		// the screen.
-		ENTITIES_LIST.forEach((entity)->{
-			if(entity.isRenderable())
-				entity.render(g);
-		});
+		for (Entity entity : getEntities())
+			if (entity.isRenderable())
+				entity.render(g, interpolation);
 	}
 	
 	/**
@@ -130,26 +573,351 @@ public class EntityManager {
 	 */
 	public static synchronized void tickEntities() {
 
+		long start = FrameProfiler.start();
+
 		// remove entities before updating in order to prevent updating removed entities
 		
-		if (!ENTITIES_TO_REMOVE_LIST.isEmpty()) {
-			ENTITIES_TO_REMOVE_LIST.forEach((entity) -> { ENTITIES_LIST.remove(entity); });
-			ENTITIES_TO_REMOVE_LIST.clear();
+		if (ENTITIES.removeQueued(EntityManager::entityRemoved) > 0)
+			entitiesChanged = true;
+
+		if (entitiesChanged)
+			publishEntities();
+
+		ticking = true;
+		try {
+			tickStoredEntities();
+		} finally {
+			ticking = false;
+		}
+
+		FrameProfiler.recordAccumulated(FramePhase.COLLISION);
+		FrameProfiler.recordAccumulated(FramePhase.MOVEMENT);
+		FrameProfiler.recordAccumulated(FramePhase.SCRIPTS);
+		FrameProfiler.record(FramePhase.ENTITY_TICK, start);
+	}
+
+	// called for every entity leaving the game
+	private static void entityRemoved(Entity entity) {
+		if (!QUERIES.isEmpty())
+			for (EntityQuery query : QUERIES.values())
+				query.remove(entity);
+
+		if (broadPhase != null)
+			broadPhase.remove(entity.cc);
+
+		// placing the bounds where they already are drops any sweep along the entity's last move, which
+		// would otherwise keep collision detection looking for swept entities for as long as the game runs
+		entity.cc.moveBounds(entity.colisionBounds.x, entity.colisionBounds.y);
+	}
+
+	// publishes a copy of the stored entities for readers that don't hold the lock
+	private static void publishEntities() {
+		publishedEntities = Collections.unmodifiableList(Arrays.asList(ENTITIES.toArray()));
+		entitiesChanged = false;
+		publishPending = false;
+	}
+
+	// publishes the entities added since the last tick, unless a tick has published them already
+	private static synchronized void publishPendingEntities() {
+		if (publishPending && !ticking)
+			publishEntities();
+	}
+
+	private static void tickStoredEntities() {
+
+		boolean packed = ENTITIES.isPacked();
+
+		// remember where the entities were so rendering can interpolate towards where they end up
+		if (packed)
+			PackedStorage.storePreviousPositions();
+
+		if (parallelTicking || pairCollisionPass)
+			tickEntitiesWithBufferedCollisions(packed);
+		else
+			ENTITIES_LIST.forEach((entity) -> {
+				if (entity.sleeping) return;
+				if (!packed) entity.tc.storePreviousPosition();
+				if (!entity.started) { entity.startup(); entity.started = true; return; } 
+				entity.tick(); 
+				trySleep(entity);
+			});
+	}
+
+	// puts the given entity to sleep if it is idle. Sleeping entities haven't moved
+	// since the previous tick, so their previous position needs no updates
+	private static void trySleep(Entity entity) {
+		if (sleepingEnabled && entity.isIdle())
+			entity.sleeping = true;
+	}
+
+	/**
+	 * Ticks every entity, detecting collisions for all of them beforehand, either
+	 * in a pair pass or in parallel. Anything that might run client code (startup,
+	 * listeners, movement and scripts) runs on the calling thread, in list order.
+	 * 
+	 * @since 2.1.0
+	 */
+	private static void tickEntitiesWithBufferedCollisions(boolean packed) {
+
+		// entities starting up this tick aren't ticked, same as in the serial path
+		ArrayList<Entity> entitiesToTick = ENTITIES_TO_TICK;
+		entitiesToTick.clear();
+		for (Entity entity : ENTITIES_LIST) {
+			if (entity.sleeping)
+				continue;
+			if (!packed)
+				entity.tc.storePreviousPosition();
+			if (!entity.started) { entity.startup(); entity.started = true; continue; }
+			entitiesToTick.add(entity);
+		}
+
+		if (broadPhase != null)
+			broadPhase.prepare();
+
+		long start = FrameProfiler.start();
+		if (pairCollisionPass)
+			CollisionComponent.bufferPairCollisions(entitiesToTick, ENTITIES_LIST);
+		else {
+			if (tickPool == null)
+				tickPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+			tickPool.invoke(new CollisionDetectionTask(entitiesToTick,
+					packed || broadPhase != null ? null : ENTITIES_LIST, 0, entitiesToTick.size()));
+		}
+		FrameProfiler.accumulate(FramePhase.COLLISION, start);
+
+		for (int i = 0; i < entitiesToTick.size(); i++) {
+			Entity entity = entitiesToTick.get(i);
+			entity.tick();
+			trySleep(entity);
+		}
+		entitiesToTick.clear();
+	}
+
+	/**
+	 * Detects the collisions of a range of entities, splitting the range in half
+	 * until it is small enough to be handled by a single thread.
+	 * 
+	 * @author Nuno Pereira
+	 * @since 2.1.0
+	 */
+	private static class CollisionDetectionTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 2785514915473208135L;
+
+		// all the entities to check against, null when there is a faster way to find them
+		private final List<Entity> entitiesToDetect, allEntities;
+		private final int start, end;
+
+		CollisionDetectionTask(List<Entity> entitiesToDetect, List<Entity> allEntities, int start, int end) {
+			this.entitiesToDetect = entitiesToDetect;
+			this.allEntities = allEntities;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= PARALLEL_TICK_THRESHOLD) {
+				for (int i = start; i < end; i++)
+					if (allEntities == null)
+						entitiesToDetect.get(i).cc.bufferCollisions();
+					else
+						entitiesToDetect.get(i).cc.bufferCollisions(allEntities);
+				return;
+			}
+
+			int middle = (start + end) >>> 1;
+			invokeAll(new CollisionDetectionTask(entitiesToDetect, allEntities, start, middle),
+					new CollisionDetectionTask(entitiesToDetect, allEntities, middle, end));
+		}
+	}
+
+	/**
+	 * Captures the render state of every renderable entity into a
+	 * {@link WorldSnapshot} and publishes it for the render thread. Should be
+	 * called by the simulation thread after each tick. Never blocks on the render
+	 * thread: snapshots are triple buffered, so there is always a free one to
+	 * write into.
+	 * 
+	 * @see #acquireSnapshot()
+	 * @since 2.1.0
+	 */
+	public static synchronized void publishSnapshot() {
+
+		WorldSnapshot snapshot = backSnapshot;
+		snapshot.reset(ENTITIES_LIST.size());
+
+		for (Entity entity : ENTITIES_LIST) {
+			if (!entity.isRenderable())
+				continue;
+
+			int i = snapshot.size++;
+			snapshot.entities[i] = entity;
+			snapshot.x[i] = entity.tc.getX();
+			snapshot.y[i] = entity.tc.getY();
+			snapshot.previousX[i] = entity.tc.getPreviousX();
+			snapshot.previousY[i] = entity.tc.getPreviousY();
+			snapshot.width[i] = entity.tc.getWidth();
+			snapshot.height[i] = entity.tc.getHeight();
+			snapshot.sprites[i] = entity.renderSprite && entity.texture != null ? entity.texture.render() : null;
 		}
 
-		if (!ENTITIES_LIST.isEmpty())
-			ENTITIES_LIST.forEach((entity) -> {if (!entity.started) { entity.startup(); entity.started = true; return; } entity.tick(); });
+		snapshot.sequence = ++snapshotSequence;
+		snapshot.timestamp = System.nanoTime();
+
+		backSnapshot = LATEST_SNAPSHOT.getAndSet(snapshot);
 	}
 
 	/**
-	 * Returns a copy of the entities list.
+	 * Returns the most recently published {@link WorldSnapshot}. The returned
+	 * snapshot belongs to the caller until the next call to this method, so it
+	 * must only be called from a single (render) thread. Never blocks on the
+	 * simulation thread.
+	 * 
+	 * @return the newest snapshot available
+	 * @see #publishSnapshot()
+	 * @since 2.1.0
+	 */
+	public static WorldSnapshot acquireSnapshot() {
+		if (LATEST_SNAPSHOT.get().sequence > frontSnapshot.sequence)
+			frontSnapshot = LATEST_SNAPSHOT.getAndSet(frontSnapshot);
+		return frontSnapshot;
+	}
+
+	/**
+	 * Renders every entity in the given snapshot. Unlike
+	 * {@link #renderEntities(java.awt.Graphics2D, double)}, this doesn't lock the
+	 * entity manager, so it can run while entities are being ticked.
+	 * 
+	 * @param g        the Graphics object responsible for rendering the objects on
+	 *                 the screen.
+	 * @param snapshot the snapshot to render
+	 * @param alpha    how far between the previous and the snapshot's tick we are,
+	 *                 from {@code 0} to {@code 1}
+	 * @see Entity#render(java.awt.Graphics2D, WorldSnapshot, int, double)
+	 * @since 2.1.0
+	 */
+	public static void renderSnapshot(java.awt.Graphics2D g, WorldSnapshot snapshot, double alpha) {
+		for (int i = 0; i < snapshot.size(); i++)
+			snapshot.getEntity(i).render(g, snapshot, i, alpha);
+	}
+
+	/**
+	 * Returns a copy of the entities list, as returned by {@link #getEntities()}.
 	 * 
 	 * @return a copy of the entities list.
 	 * @since 1.0.0
 	 */
-	@SuppressWarnings("unchecked")
 	public static ArrayList<Entity> getEntitiesList() {
-		return (ArrayList<Entity>) ENTITIES_LIST.clone();
+		return new ArrayList<Entity>(getEntities());
+	}
+
+	/**
+	 * Returns a read-only view of the entities in the game, in the order they are
+	 * ticked. The view never changes once returned, so it can be iterated from any
+	 * thread without locking or copying. A new view is published when first asked
+	 * for after entities are added between ticks, and at the start of every tick
+	 * that follows an addition or removal, so during a tick every caller sees the
+	 * same entities: those ticked, and checked for collisions, in that tick.
+	 * 
+	 * @return the entities in the game
+	 * @since 2.1.0
+	 */
+	public static List<Entity> getEntities() {
+		if (publishPending)
+			publishPendingEntities();
+		return publishedEntities;
+	}
+
+	/**
+	 * Returns the live query of entities passing the given filter, creating it if
+	 * needed. Queries are cached, so equal filters share the same query, which is
+	 * kept up to date until removed with {@link #removeQuery(EntityQuery)}.
+	 * Entities queued for removal stay in their queries until they actually leave
+	 * the game, at the start of the next tick.
+	 * 
+	 * @param filter the filter the entities in the query must pass
+	 * @return the query of entities passing {@code filter}
+	 * @throws IllegalArgumentException if {@code filter} is {@code null}
+	 * @since 2.1.0
+	 */
+	public synchronized static EntityQuery query(EntityFilter filter) throws IllegalArgumentException {
+		if (filter == null)
+			throw new IllegalArgumentException("Filter can't be null");
+
+		EntityQuery query = QUERIES.get(filter);
+		if (query == null) {
+			query = new EntityQuery(filter);
+			for (Entity entity : ENTITIES_LIST)
+				query.update(entity);
+			QUERIES.put(filter, query);
+		}
+
+		return query;
+	}
+
+	/**
+	 * Stops keeping the given query up to date. Its filter gets a new query the
+	 * next time one is asked for.
+	 * 
+	 * @param query the query to remove
+	 * @since 2.1.0
+	 */
+	public synchronized static void removeQuery(EntityQuery query) {
+		QUERIES.remove(query.getFilter(), query);
+	}
+
+	/**
+	 * Updates the queries the given entity is in, after its components or tags
+	 * changed.
+	 * 
+	 * @param entity the entity that changed
+	 * @since 2.1.0
+	 */
+	synchronized static void entityChanged(Entity entity) {
+		if (QUERIES.isEmpty() || !ENTITIES.contains(entity))
+			return;
+
+		for (EntityQuery query : QUERIES.values())
+			query.update(entity);
+	}
+
+	/**
+	 * Returns weather the given entity is in the game. Entities queued for removal
+	 * are still in the game until the next tick starts.
+	 * 
+	 * @param entity the entity to look for
+	 * @return {@code true} if the entity is in the game, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public synchronized static boolean containsEntity(Entity entity) {
+		return ENTITIES.contains(entity);
+	}
+
+	/**
+	 * Returns a handle to the given entity.
+	 * 
+	 * @param entity the entity to get a handle to
+	 * @return a handle to the entity, or {@link EntityHandle#NONE} if it isn't in
+	 *         the game
+	 * @see Entity#getHandle()
+	 * @since 2.1.0
+	 */
+	synchronized static EntityHandle handleOf(Entity entity) {
+		return ENTITIES.handleOf(entity);
+	}
+
+	/**
+	 * Returns the entity the given handle refers to.
+	 * 
+	 * @param handle the handle to resolve
+	 * @return the entity, or {@code null} if it is no longer in the game
+	 * @see EntityHandle#get()
+	 * @since 2.1.0
+	 */
+	synchronized static Entity resolve(EntityHandle handle) {
+		return ENTITIES.resolve(handle);
 	}
 	
 }
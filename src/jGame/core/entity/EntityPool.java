@@ -0,0 +1,256 @@
+package jGame.core.entity;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+import jGame.logging.ProgramLogger;
+
+/**
+ * A pool of interchangeable entities of a single archetype, such as
+ * projectiles, for games that spawn and remove entities all the time. Entities
+ * released back into the pool are reused by later acquisitions instead of
+ * building new ones, so once the pool has warmed up, spawning allocates close to
+ * nothing. <br>
+ * <br>
+ * Reused entities are restarted before being handed out again: their transform
+ * and movement are reset, they run their {@link Entity#startup()} again on
+ * their first tick and their own {@link Entity#restart()} is called. Anything
+ * else set on an entity after it was built, such as listeners or extra
+ * components, stays with it, so it should be set up by the pool's factory. <br>
+ * <br>
+ * A released entity only becomes available once it is actually out of the game,
+ * at the start of the next tick. Only entities built by a pool can be released
+ * into it, and only once per acquisition. Spawns and releases aren't logged
+ * one by one, see {@link #logMetrics()} instead. Pools aren't thread safe and
+ * should only be used from the game thread.
+ *
+ * @param <E> the type of entity pooled
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class EntityPool<E extends Entity> {
+
+	private final String name;
+	private final Supplier<? extends E> factory;
+	private final int maxSize;
+
+	// released entities, oldest first, since those are the first to leave the game
+	private final ArrayDeque<E> freeEntities;
+
+	private long hits = 0, misses = 0, discarded = 0;
+
+	/**
+	 * Creates an empty pool.
+	 *
+	 * @param name    the name of the pool, used when logging
+	 * @param factory builds the entities of this pool when there are none to
+	 *                reuse
+	 * @param maxSize the maximum number of released entities kept for reuse
+	 * @throws IllegalArgumentException if {@code factory} is {@code null} or
+	 *                                  {@code maxSize} is negative
+	 * @since 2.1.0
+	 */
+	public EntityPool(String name, Supplier<? extends E> factory, int maxSize) throws IllegalArgumentException {
+		if (factory == null)
+			throw new IllegalArgumentException("Entity factory can't be null");
+		if (maxSize < 0)
+			throw new IllegalArgumentException("Pool size can't be negative, got " + maxSize);
+
+		this.name = name;
+		this.factory = factory;
+		this.maxSize = maxSize;
+		this.freeEntities = new ArrayDeque<E>(Math.min(maxSize, 1024));
+	}
+
+	/**
+	 * Builds entities until there are {@code amount} of them ready for reuse, or
+	 * the pool is full, so the first acquisitions don't have to build any.
+	 *
+	 * @param amount the number of entities to have ready
+	 * @since 2.1.0
+	 */
+	public void prewarm(int amount) {
+		amount = Math.min(amount, maxSize);
+
+		while (freeEntities.size() < amount)
+			free(build());
+	}
+
+	/**
+	 * Takes an entity from the pool, or builds a new one if there are none ready,
+	 * and adds it to the game at the given position.
+	 *
+	 * @param startingX the starting x position of the entity
+	 * @param startingY the starting y position of the entity
+	 * @return the entity added to the game
+	 * @throws IllegalStateException if the pool's factory returns {@code null} or
+	 *                               an entity built by another pool
+	 * @see EntityManager#addEntity(Entity)
+	 * @since 2.1.0
+	 */
+	public E acquire(int startingX, int startingY) throws IllegalStateException {
+
+		E entity = freeEntities.peekFirst();
+
+		if (entity != null && !EntityManager.containsEntity(entity)) {
+			freeEntities.pollFirst();
+			entity.pooled = false;
+			hits++;
+		} else {
+			entity = build();
+			misses++;
+		}
+
+		entity.respawn(startingX, startingY);
+		EntityManager.spawnEntity(entity);
+
+		return entity;
+	}
+
+	/**
+	 * Removes the given entity from the game and keeps it for reuse, unless the
+	 * pool is full. The entity must not be used after being released.
+	 *
+	 * @param entity the entity to release
+	 * @throws IllegalArgumentException if {@code entity} is {@code null} or wasn't
+	 *                                  built by this pool
+	 * @throws IllegalStateException    if {@code entity} was already released
+	 * @see EntityManager#removeEntity(Entity)
+	 * @since 2.1.0
+	 */
+	public void release(E entity) throws IllegalArgumentException, IllegalStateException {
+		if (entity == null)
+			throw new IllegalArgumentException("Can't release a null entity");
+		if (entity.pool != this)
+			throw new IllegalArgumentException(entity + " wasn't built by entity pool " + name);
+		if (entity.pooled)
+			throw new IllegalStateException(entity + " was already released into entity pool " + name);
+
+		EntityManager.despawnEntity(entity);
+		entity.mc.restart();
+
+		if (freeEntities.size() < maxSize) {
+			free(entity);
+		} else {
+			entity.pool = null; // dropped, so it can't be released again
+			discarded++;
+		}
+	}
+
+	/**
+	 * Drops every entity kept for reuse and resets the pool's metrics.
+	 *
+	 * @since 2.1.0
+	 */
+	public void clear() {
+		for (E entity : freeEntities) {
+			entity.pooled = false;
+			entity.pool = null;
+		}
+		freeEntities.clear();
+		hits = misses = discarded = 0;
+	}
+
+	private E build() {
+		E entity = factory.get();
+		if (entity == null)
+			throw new IllegalStateException("Factory of entity pool " + name + " returned null");
+		if (entity.pool != null)
+			throw new IllegalStateException("Factory of entity pool " + name + " returned a pooled entity");
+		entity.pool = this;
+		return entity;
+	}
+
+	private void free(E entity) {
+		entity.pooled = true;
+		freeEntities.addLast(entity);
+	}
+
+	/**
+	 * Returns the name of this pool.
+	 *
+	 * @return this pool's name
+	 * @since 2.1.0
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of released entities kept for reuse, including those
+	 * still waiting to leave the game.
+	 *
+	 * @return the number of free entities
+	 * @since 2.1.0
+	 */
+	public int getFreeAmount() {
+		return freeEntities.size();
+	}
+
+	/**
+	 * Returns the maximum number of released entities kept for reuse.
+	 *
+	 * @return the size of this pool
+	 * @since 2.1.0
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Returns the number of acquisitions that reused an entity.
+	 *
+	 * @return the number of pool hits
+	 * @since 2.1.0
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of acquisitions that had to build a new entity.
+	 *
+	 * @return the number of pool misses
+	 * @since 2.1.0
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of released entities dropped because the pool was full.
+	 *
+	 * @return the number of discarded entities
+	 * @since 2.1.0
+	 */
+	public long getDiscarded() {
+		return discarded;
+	}
+
+	/**
+	 * Returns the fraction of acquisitions that reused an entity.
+	 *
+	 * @return the hit rate, from {@code 0} to {@code 1}, or {@code 0} if nothing
+	 *         was acquired yet
+	 * @since 2.1.0
+	 */
+	public double getHitRate() {
+		long acquisitions = hits + misses;
+		return acquisitions == 0 ? 0 : (double) hits / acquisitions;
+	}
+
+	/**
+	 * Writes this pool's metrics to the log.
+	 *
+	 * @since 2.1.0
+	 */
+	public void logMetrics() {
+		ProgramLogger.writeLog(this.toString());
+	}
+
+	@Override
+	public String toString() {
+		return String.format("EntityPool [name=%s, free=%d/%d, hits=%d, misses=%d, hitRate=%.2f, discarded=%d]", name,
+				freeEntities.size(), maxSize, hits, misses, getHitRate(), discarded);
+	}
+}
@@ -0,0 +1,107 @@
+package jGame.core.entity;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A live view of the entities in the game that pass an {@link EntityFilter}.
+ * Instead of being recomputed, the view is updated as entities are added to
+ * and removed from the game, register components and gain or lose tags, so
+ * systems only ever visit the entities they care about. <br>
+ * <br>
+ * Entities appear in the order they entered the view. Like the entities
+ * themselves, queries are updated by the game thread, so they should only be
+ * iterated there.
+ *
+ * @see EntityManager#query(EntityFilter)
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class EntityQuery implements Iterable<Entity> {
+
+	private final EntityFilter filter;
+
+	private final LinkedHashSet<Entity> entities = new LinkedHashSet<Entity>();
+	private final Set<Entity> view = Collections.unmodifiableSet(entities);
+
+	EntityQuery(EntityFilter filter) {
+		this.filter = filter;
+	}
+
+	// adds or removes the given entity, depending on weather it passes the filter
+	void update(Entity entity) {
+		if (filter.matches(entity))
+			entities.add(entity);
+		else
+			entities.remove(entity);
+	}
+
+	void remove(Entity entity) {
+		entities.remove(entity);
+	}
+
+	/**
+	 * Returns the filter of this query.
+	 *
+	 * @return the filter the entities in this query pass
+	 * @since 2.1.0
+	 */
+	public EntityFilter getFilter() {
+		return filter;
+	}
+
+	/**
+	 * Returns a read-only, live view of the entities in this query.
+	 *
+	 * @return the entities that pass this query's filter
+	 * @since 2.1.0
+	 */
+	public Set<Entity> getEntities() {
+		return view;
+	}
+
+	/**
+	 * Returns weather the given entity is in this query.
+	 *
+	 * @param entity the entity to look for
+	 * @return {@code true} if the entity is in the game and passes this query's
+	 *         filter, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean contains(Entity entity) {
+		return entities.contains(entity);
+	}
+
+	/**
+	 * Returns the number of entities in this query.
+	 *
+	 * @return the number of entities that pass this query's filter
+	 * @since 2.1.0
+	 */
+	public int size() {
+		return entities.size();
+	}
+
+	/**
+	 * Returns weather there are no entities in this query.
+	 *
+	 * @return {@code true} if no entity passes this query's filter, {@code false}
+	 *         otherwise
+	 * @since 2.1.0
+	 */
+	public boolean isEmpty() {
+		return entities.isEmpty();
+	}
+
+	@Override
+	public Iterator<Entity> iterator() {
+		return view.iterator();
+	}
+
+	@Override
+	public String toString() {
+		return "EntityQuery [filter=" + filter + ", size=" + entities.size() + "]";
+	}
+}
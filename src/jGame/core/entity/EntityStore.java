@@ -0,0 +1,304 @@
+package jGame.core.entity;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+import jGame.core.entity.component.PackedStorage;
+import jGame.core.internal.Internals;
+
+/**
+ * Holds the entities in the game. Entities are kept in a dense array, in the
+ * order they were added, and each one knows its own position in it, so checking
+ * for, adding and queueing the removal of an entity take constant time. Queued
+ * removals are applied all at once by {@link #removeQueued()}, in a single pass
+ * that keeps the remaining entities in order. <br>
+ * <br>
+ * Every stored entity also gets an id, reused once the entity is removed, and
+ * the generation of that id, which is bumped on every removal. Together they
+ * make up the entity's {@link EntityHandle}. <br>
+ * <br>
+ * When packed, the store keeps the {@link PackedStorage} rows in the same order
+ * as its entities, so an entity's row is always its position in the store.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+final class EntityStore {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	// the entities, in the order they were added
+	private Entity[] dense = new Entity[INITIAL_CAPACITY];
+	private int size = 0;
+
+	// the entities by id, and the current generation of each id
+	private Entity[] slots = new Entity[INITIAL_CAPACITY];
+	private int[] generations = new int[INITIAL_CAPACITY];
+	private int nextId = 0;
+
+	// ids of removed entities, ready to be reused
+	private int[] freeIds = new int[INITIAL_CAPACITY];
+	private int freeIdAmount = 0;
+
+	private int queuedRemovals = 0;
+
+	// weather the entities' data is kept in the packed storage
+	private boolean packed = false;
+
+	private final List<Entity> view = new View();
+
+	/**
+	 * Returns weather the given entity is in this store.
+	 *
+	 * @param entity the entity to look for
+	 * @return {@code true} if the entity is stored here, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	boolean contains(Entity entity) {
+		return entity.storeIndex >= 0 && entity.storeIndex < size && dense[entity.storeIndex] == entity;
+	}
+
+	/**
+	 * Adds the given entity after every other entity, if it isn't stored yet.
+	 *
+	 * @param entity the entity to add
+	 * @return {@code true} if the entity was added, {@code false} if it was
+	 *         already stored
+	 * @since 2.1.0
+	 */
+	boolean add(Entity entity) {
+
+		if (contains(entity))
+			return false;
+
+		int id;
+		if (freeIdAmount > 0) {
+			id = freeIds[--freeIdAmount];
+		} else {
+			id = nextId++;
+			if (id == slots.length) {
+				slots = Arrays.copyOf(slots, id * 2);
+				generations = Arrays.copyOf(generations, id * 2);
+			}
+		}
+
+		if (size == dense.length)
+			dense = Arrays.copyOf(dense, size * 2);
+
+		slots[id] = entity;
+		entity.storeId = id;
+		entity.storeIndex = size;
+		entity.queuedForRemoval = false;
+		dense[size++] = entity;
+
+		if (packed)
+			Internals.packedRows().attach(entity);
+
+		return true;
+	}
+
+	/**
+	 * Queues the given entity for removal. It stays in this store until
+	 * {@link #removeQueued()} is called.
+	 *
+	 * @param entity the entity to remove
+	 * @return {@code true} if the entity was queued, {@code false} if it isn't
+	 *         stored or was already queued
+	 * @since 2.1.0
+	 */
+	boolean queueRemoval(Entity entity) {
+
+		if (!contains(entity) || entity.queuedForRemoval)
+			return false;
+
+		entity.queuedForRemoval = true;
+		queuedRemovals++;
+		return true;
+	}
+
+	/**
+	 * Removes every entity queued for removal, keeping the remaining entities in
+	 * the order they were added.
+	 *
+	 * @param onRemoved called with every removed entity, after it has left the
+	 *                  store, may be {@code null}
+	 * @return the number of entities removed
+	 * @since 2.1.0
+	 */
+	int removeQueued(Consumer<? super Entity> onRemoved) {
+
+		if (queuedRemovals == 0)
+			return 0;
+
+		int removed = queuedRemovals;
+		int kept = 0;
+
+		for (int i = 0; i < size; i++) {
+			Entity entity = dense[i];
+
+			if (entity.queuedForRemoval) {
+				if (packed)
+					Internals.packedRows().detach(i);
+				release(entity);
+				if (onRemoved != null)
+					onRemoved.accept(entity);
+				continue;
+			}
+
+			if (packed)
+				Internals.packedRows().move(i, kept);
+
+			entity.storeIndex = kept;
+			dense[kept++] = entity;
+		}
+
+		if (packed)
+			Internals.packedRows().truncate(kept);
+
+		Arrays.fill(dense, kept, size, null);
+		size = kept;
+		queuedRemovals = 0;
+
+		return removed;
+	}
+
+	private void release(Entity entity) {
+		int id = entity.storeId;
+
+		slots[id] = null;
+		generations[id]++;
+
+		if (freeIdAmount == freeIds.length)
+			freeIds = Arrays.copyOf(freeIds, freeIdAmount * 2);
+		freeIds[freeIdAmount++] = id;
+
+		entity.storeId = -1;
+		entity.storeIndex = -1;
+		entity.queuedForRemoval = false;
+	}
+
+	/**
+	 * Sets weather the data of the stored entities is kept in the
+	 * {@link PackedStorage}. Can only be changed while the store is empty.
+	 *
+	 * @param packed weather to keep the entities' data packed
+	 * @throws IllegalStateException if there are entities in the store
+	 * @since 2.1.0
+	 */
+	void setPacked(boolean packed) throws IllegalStateException {
+		if (size > 0)
+			throw new IllegalStateException("Can't change the entity storage while there are " + size + " entities");
+		this.packed = packed;
+	}
+
+	/**
+	 * Returns weather the data of the stored entities is kept in the
+	 * {@link PackedStorage}.
+	 *
+	 * @return {@code true} if the entities' data is packed, {@code false}
+	 *         otherwise
+	 * @since 2.1.0
+	 */
+	boolean isPacked() {
+		return packed;
+	}
+
+	/**
+	 * Returns a handle to the given entity.
+	 *
+	 * @param entity the entity to get a handle to
+	 * @return a handle to the entity, or {@link EntityHandle#NONE} if it isn't
+	 *         stored
+	 * @since 2.1.0
+	 */
+	EntityHandle handleOf(Entity entity) {
+		if (!contains(entity))
+			return EntityHandle.NONE;
+		return new EntityHandle(entity.storeId, generations[entity.storeId]);
+	}
+
+	/**
+	 * Returns the entity the given handle refers to.
+	 *
+	 * @param handle the handle to resolve
+	 * @return the entity, or {@code null} if it has been removed
+	 * @since 2.1.0
+	 */
+	Entity resolve(EntityHandle handle) {
+		int id = handle.getId();
+		if (id < 0 || id >= nextId || generations[id] != handle.getGeneration())
+			return null;
+		return slots[id];
+	}
+
+	/**
+	 * Returns the entity at the given position.
+	 *
+	 * @param index the position of the entity
+	 * @return the entity at the given position
+	 * @throws IndexOutOfBoundsException if {@code index} is out of range
+	 * @since 2.1.0
+	 */
+	Entity get(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size + " entities");
+		return dense[index];
+	}
+
+	/**
+	 * Returns the number of stored entities, including those queued for removal.
+	 *
+	 * @return the number of stored entities
+	 * @since 2.1.0
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns a copy of the stored entities, in order.
+	 *
+	 * @return an array with every stored entity
+	 * @since 2.1.0
+	 */
+	Entity[] toArray() {
+		return Arrays.copyOf(dense, size);
+	}
+
+	/**
+	 * Returns a read-only, live view of the stored entities, in order.
+	 *
+	 * @return a list view of this store
+	 * @since 2.1.0
+	 */
+	List<Entity> asList() {
+		return view;
+	}
+
+	/**
+	 * A read-only, live list view of the store.
+	 *
+	 * @author Nuno Pereira
+	 * @since 2.1.0
+	 */
+	private class View extends AbstractList<Entity> implements RandomAccess {
+
+		@Override
+		public Entity get(int index) {
+			return EntityStore.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return o instanceof Entity && EntityStore.this.contains((Entity) o);
+		}
+	}
+}
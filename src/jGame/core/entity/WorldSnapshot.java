@@ -0,0 +1,161 @@
+package jGame.core.entity;
+
+import java.awt.Image;
+import java.util.Arrays;
+
+/**
+ * A snapshot of everything needed to render the entities of the game, taken
+ * right after a tick. Snapshots are published by the simulation thread and
+ * read by the render thread, so the render thread never has to look at an
+ * entity's live state. <br>
+ * <br>
+ * Once published a snapshot is never modified until the render thread has
+ * handed it back to the {@link EntityManager}.
+ *
+ * @see EntityManager#publishSnapshot()
+ * @see EntityManager#acquireSnapshot()
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class WorldSnapshot {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	// the state of each renderable entity, index by index
+	Entity[] entities = new Entity[INITIAL_CAPACITY];
+	int[] x = new int[INITIAL_CAPACITY], y = new int[INITIAL_CAPACITY];
+	int[] previousX = new int[INITIAL_CAPACITY], previousY = new int[INITIAL_CAPACITY];
+	int[] width = new int[INITIAL_CAPACITY], height = new int[INITIAL_CAPACITY];
+	Image[] sprites = new Image[INITIAL_CAPACITY];
+	int size = 0;
+
+	// the order in which snapshots were published and when
+	long sequence = 0;
+	long timestamp = 0;
+
+	WorldSnapshot() {
+	}
+
+	/**
+	 * Clears this snapshot so it can be filled again, making sure it can hold at
+	 * least {@code capacity} entities.
+	 *
+	 * @param capacity the number of entities this snapshot must be able to hold
+	 * @since 2.1.0
+	 */
+	void reset(int capacity) {
+
+		// drop references to entities that might have been removed from the game
+		Arrays.fill(this.entities, 0, this.size, null);
+		Arrays.fill(this.sprites, 0, this.size, null);
+		this.size = 0;
+
+		if (capacity <= this.entities.length)
+			return;
+
+		int newCapacity = Math.max(capacity, this.entities.length * 2);
+		this.entities = new Entity[newCapacity];
+		this.x = new int[newCapacity];
+		this.y = new int[newCapacity];
+		this.previousX = new int[newCapacity];
+		this.previousY = new int[newCapacity];
+		this.width = new int[newCapacity];
+		this.height = new int[newCapacity];
+		this.sprites = new Image[newCapacity];
+	}
+
+	/**
+	 * Returns the number of entities in this snapshot.
+	 *
+	 * @return the number of entities in this snapshot
+	 * @since 2.1.0
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the entity at the given index.
+	 *
+	 * @param index the index of the entity in this snapshot
+	 * @return the entity at the given index
+	 * @since 2.1.0
+	 */
+	public Entity getEntity(int index) {
+		return entities[index];
+	}
+
+	/**
+	 * Returns the x position of the entity at the given index, interpolated
+	 * between its position on the previous tick and when the snapshot was taken.
+	 *
+	 * @param index the index of the entity in this snapshot
+	 * @param alpha how far between the previous and the snapshot's tick we are,
+	 *              from {@code 0} to {@code 1}
+	 * @return the interpolated x position of the entity
+	 * @since 2.1.0
+	 */
+	public int getX(int index, double alpha) {
+		return (int) Math.round(previousX[index] + (x[index] - previousX[index]) * alpha);
+	}
+
+	/**
+	 * Returns the y position of the entity at the given index, interpolated
+	 * between its position on the previous tick and when the snapshot was taken.
+	 *
+	 * @param index the index of the entity in this snapshot
+	 * @param alpha how far between the previous and the snapshot's tick we are,
+	 *              from {@code 0} to {@code 1}
+	 * @return the interpolated y position of the entity
+	 * @since 2.1.0
+	 */
+	public int getY(int index, double alpha) {
+		return (int) Math.round(previousY[index] + (y[index] - previousY[index]) * alpha);
+	}
+
+	/**
+	 * Returns the width of the entity at the given index.
+	 *
+	 * @param index the index of the entity in this snapshot
+	 * @return the width of the entity
+	 * @since 2.1.0
+	 */
+	public int getWidth(int index) {
+		return width[index];
+	}
+
+	/**
+	 * Returns the height of the entity at the given index.
+	 *
+	 * @param index the index of the entity in this snapshot
+	 * @return the height of the entity
+	 * @since 2.1.0
+	 */
+	public int getHeight(int index) {
+		return height[index];
+	}
+
+	/**
+	 * Returns the sprite image of the entity at the given index, as it was when
+	 * the snapshot was taken.
+	 *
+	 * @param index the index of the entity in this snapshot
+	 * @return the sprite image of the entity, or {@code null} if it doesn't render
+	 *         a sprite
+	 * @since 2.1.0
+	 */
+	public Image getSprite(int index) {
+		return sprites[index];
+	}
+
+	/**
+	 * Returns the time, as given by {@link System#nanoTime()}, at which this
+	 * snapshot was published.
+	 *
+	 * @return the time at which this snapshot was published
+	 * @since 2.1.0
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+}
@@ -0,0 +1,92 @@
+package jGame.core.entity.component;
+
+import java.util.List;
+
+/**
+ * Finds, for every entity, the few entities it may collide with, so the exact
+ * (and more expensive) collision test only runs on those. Broad-phases hold the
+ * collision components of every entity in the game, and are told when their
+ * entities move through {@link CollisionComponent#moveBounds(int, int)}. <br>
+ * <br>
+ * Different broad-phases suit different scenes, so the one in use can be chosen
+ * per {@link jGame.core.launcher.GameState}, and each keeps
+ * {@link BroadPhaseStatistics} to compare them by.
+ *
+ * @see jGame.core.entity.EntityManager#setBroadPhase(BroadPhase)
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public interface BroadPhase {
+
+	/**
+	 * Adds the given collision component to this broad-phase.
+	 *
+	 * @param cc the collision component to add
+	 * @throws IllegalStateException if the component is already in a broad-phase
+	 * @since 2.1.0
+	 */
+	public void insert(CollisionComponent cc) throws IllegalStateException;
+
+	/**
+	 * Brings the given collision component up to date with its entity's current
+	 * bounds.
+	 *
+	 * @param cc the collision component whose entity moved
+	 * @since 2.1.0
+	 */
+	public void update(CollisionComponent cc);
+
+	/**
+	 * Removes the given collision component from this broad-phase.
+	 *
+	 * @param cc the collision component to remove
+	 * @since 2.1.0
+	 */
+	public void remove(CollisionComponent cc);
+
+	/**
+	 * Finds the collision components the given one may collide with. Each
+	 * candidate is found once, and candidates are sorted in the order they were
+	 * inserted, so collisions are reported in the same order as when testing
+	 * every entity.
+	 *
+	 * @param cc         the collision component to find candidates for
+	 * @param candidates the list to add the candidates to
+	 * @since 2.1.0
+	 */
+	public void query(CollisionComponent cc, List<CollisionComponent> candidates);
+
+	/**
+	 * Applies any pending change, so that {@link #query} can then be called
+	 * concurrently as long as no entity is moved, added or removed. Called by the
+	 * entity manager before detecting collisions in parallel.
+	 *
+	 * @since 2.1.0
+	 */
+	public default void prepare() {
+		return;
+	}
+
+	/**
+	 * Removes every collision component from this broad-phase.
+	 *
+	 * @since 2.1.0
+	 */
+	public void clear();
+
+	/**
+	 * Returns the number of collision components in this broad-phase.
+	 *
+	 * @return the number of components in this broad-phase
+	 * @since 2.1.0
+	 */
+	public int size();
+
+	/**
+	 * Returns the statistics of this broad-phase.
+	 *
+	 * @return the statistics of this broad-phase
+	 * @since 2.1.0
+	 */
+	public BroadPhaseStatistics getStatistics();
+}
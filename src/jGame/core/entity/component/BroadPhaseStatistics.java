@@ -0,0 +1,79 @@
+package jGame.core.entity.component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the work done through a {@link BroadPhase}: how many times it was
+ * queried, how many candidate pairs it handed to the exact collision test and
+ * how many of those actually collided. The fewer pairs tested for the same pairs
+ * found, the better the broad-phase suits the scene. <br>
+ * <br>
+ * Counters can be updated from several threads at once.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class BroadPhaseStatistics {
+
+	private final LongAdder queries = new LongAdder();
+	private final LongAdder pairsTested = new LongAdder();
+	private final LongAdder pairsFound = new LongAdder();
+
+	// only made by the broad-phases, for themselves
+	BroadPhaseStatistics() {
+	}
+
+	// records a query that produced the given number of candidates and collisions
+	void record(int tested, int found) {
+		queries.increment();
+		pairsTested.add(tested);
+		pairsFound.add(found);
+	}
+
+	/**
+	 * Returns the number of times the broad-phase was queried.
+	 *
+	 * @return the number of queries
+	 * @since 2.1.0
+	 */
+	public long getQueries() {
+		return queries.sum();
+	}
+
+	/**
+	 * Returns the number of candidate pairs handed to the exact collision test.
+	 *
+	 * @return the number of pairs tested
+	 * @since 2.1.0
+	 */
+	public long getPairsTested() {
+		return pairsTested.sum();
+	}
+
+	/**
+	 * Returns the number of tested pairs that collided.
+	 *
+	 * @return the number of pairs found
+	 * @since 2.1.0
+	 */
+	public long getPairsFound() {
+		return pairsFound.sum();
+	}
+
+	/**
+	 * Sets every counter back to zero.
+	 *
+	 * @since 2.1.0
+	 */
+	public void reset() {
+		queries.reset();
+		pairsTested.reset();
+		pairsFound.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "BroadPhaseStatistics [queries=" + getQueries() + ", pairsTested=" + getPairsTested()
+				+ ", pairsFound=" + getPairsFound() + "]";
+	}
+}
@@ -1,11 +1,20 @@
 package jGame.core.entity.component;
 
 import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jGame.core.entity.Entity;
 import jGame.core.entity.EntityManager;
 import jGame.core.entity.event.CollisionEvent;
-import jGame.core.launcher.GameLauncher;
+import jGame.core.entity.event.CollisionListener;
+import jGame.core.entity.event.ContactListener;
+import jGame.core.launcher.WorldBounds;
 
 /**
  * The default implementation of a collision component.
@@ -22,12 +31,67 @@ public class CollisionComponent extends Component {
 	private Runnable collider = null;
 	private boolean collisionsAllowed = true;
 	
+	// collisions detected ahead of time, waiting to be delivered to the listeners
+	private final ArrayList<CollisionEvent> bufferedCollisions = new ArrayList<CollisionEvent>();
+	private boolean collisionsBuffered = false;
+
+	// the events made by this component. When events are reused, those of a detection are
+	// reused by the next one, once they have all been delivered
+	private final ArrayList<CollisionEvent> eventPool = new ArrayList<CollisionEvent>();
+	private int usedEvents = 0;
+
+	// the broad-phase this component is in, if any, and its place there
+	BroadPhase broadPhase = null;
+	long broadPhaseOrder;
+
+	// where this component is in a SpatialHash
+	int cellMinX, cellMinY, cellMaxX, cellMaxY;
+
+	// where this component is in a SweepAndPrune, and what it overlaps on the x axis
+	int leftEndpoint, rightEndpoint, activeIndex;
+	ArrayList<CollisionComponent> overlaps = null;
+
+	// reused to hold the candidates found by the broad-phase
+	private final ArrayList<CollisionComponent> candidates = new ArrayList<CollisionComponent>();
+
+	// set during a pair pass on the components whose listeners are told of its collisions
+	private boolean receivingPairs = false;
+
+	// continuous components have their bounds swept from where their last move started, covering
+	// everything they passed through on the way
+	private boolean continuous = false;
+	private boolean swept = false;
+	private int sweepFromX, sweepFromY;
+	private final Rectangle sweptBounds = new Rectangle();
+
+	// the layer this component is in and the layers it collides with
+	int collisionLayer = CollisionLayers.DEFAULT;
+	int collisionMask = CollisionLayers.ALL;
+
+	// what this component's entity touches, created once it has contact listeners, and weather they
+	// are being kept on the current tick
+	private Contacts contacts = null;
+	private boolean trackingContacts = false;
+
+	// set when the bounds move, and taken by the next collision detection as weather the entity
+	// moved since the previous one, so it wakes the sleeping entities it runs into
+	private boolean moved = true;
+	private boolean moving = false;
+
+	// below this many candidates, they are insertion sorted instead of heap sorted
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+
+	// the number of components whose bounds are swept, so that while there are none
+	// collisions are detected without looking for them
+	private static final AtomicInteger SWEPT_AMOUNT = new AtomicInteger();
+	
 	/**
 	 * 
 	 * @param allow
 	 */
 	public void allowCollsions(boolean allow) {
 		this.collisionsAllowed = allow;
+		this.entity.wake();
 	}
 	
 	/**
@@ -38,9 +102,104 @@ public class CollisionComponent extends Component {
 	 */
 	public void setCollider(Runnable collider) {
 		this.collider = collider;
+		this.entity.wake();
+	}
+
+	/**
+	 * Returns weather a custom collider is set for this component.
+	 * 
+	 * @return {@code true} if there is a custom collider, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean hasCollider() {
+		return this.collider != null;
 	}
 
 	private void collide() {if (collider != null) collider.run();}
+
+	/**
+	 * Sets weather collisions are detected continuously for this component's
+	 * entity, which should be done for fast entities, such as projectiles. Those
+	 * move far enough in a single tick to jump over thin entities, so instead of
+	 * only testing where their moves end, their bounds are swept along their last
+	 * move, and every entity they passed through on the way is hit. <br>
+	 * <br>
+	 * Collisions found this way carry the {@link CollisionEvent#getTimeOfImpact()
+	 * time of impact} and {@link CollisionEvent#getContactPoint() contact point},
+	 * with the event's location being where the source was when they first
+	 * touched. Only moves made by the entity's {@link MovementComponent} are swept,
+	 * so moving the entity directly places it without hitting anything on the way.
+	 * 
+	 * @param continuous weather to sweep the entity's bounds along its moves
+	 * @since 2.1.0
+	 */
+	public void setContinuous(boolean continuous) {
+		this.continuous = continuous;
+		if (!continuous && this.swept)
+			this.moveBounds(this.entity.getColisionBounds().x, this.entity.getColisionBounds().y);
+	}
+
+	/**
+	 * Puts this component's entity in the given collision layer. Entities only
+	 * collide with entities in layers both their masks hold and that interact with
+	 * their own, which is checked before their bounds are tested.
+	 * 
+	 * @param layer the layer to put the entity in
+	 * @throws IllegalArgumentException if the layer doesn't exist
+	 * @see CollisionLayers
+	 * @since 2.1.0
+	 */
+	public void setCollisionLayer(int layer) throws IllegalArgumentException {
+		CollisionLayers.checkLayer(layer);
+		this.collisionLayer = layer;
+		CollisionLayers.inUse = true;
+	}
+
+	/**
+	 * Returns the collision layer of this component's entity.
+	 * 
+	 * @return the layer the entity is in
+	 * @since 2.1.0
+	 */
+	public int getCollisionLayer() {
+		return collisionLayer;
+	}
+
+	/**
+	 * Sets the collision layers this component's entity collides with, including
+	 * {@link CollisionLayers#WALL} for the walls of the world.
+	 * 
+	 * @param mask the layers to collide with, as built by
+	 *             {@link CollisionLayers#maskOf(int...)}
+	 * @see CollisionLayers
+	 * @since 2.1.0
+	 */
+	public void setCollisionMask(int mask) {
+		this.collisionMask = mask;
+		CollisionLayers.inUse = true;
+	}
+
+	/**
+	 * Returns the collision layers this component's entity collides with.
+	 * 
+	 * @return the mask of the layers the entity collides with
+	 * @since 2.1.0
+	 */
+	public int getCollisionMask() {
+		return collisionMask;
+	}
+
+	/**
+	 * Returns weather collisions are detected continuously for this component's
+	 * entity.
+	 * 
+	 * @return {@code true} if the entity's bounds are swept along its moves,
+	 *         {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean isContinuous() {
+		return continuous;
+	}
 	
 	/**
 	 * Creates a collision component attached to this entity.
@@ -58,45 +217,595 @@ public class CollisionComponent extends Component {
 	@Override
 	public void execute() {
 
-		if (!this.collisionsAllowed) return;
+		boolean buffered = this.collisionsBuffered;
+		this.collisionsBuffered = false;
+
+		if (!this.collisionsAllowed) {
+			this.bufferedCollisions.clear();
+			if (this.contacts != null)
+				this.endContacts(); // touching nothing anymore
+			return;
+		}
+
+		this.trackingContacts = this.beginContacts();
+
+		this.moving = this.moved;
+		this.moved = false;
 		
-		// wall collision code
-		if (this.entity.getColisionBounds().getX() <= 0
-				|| this.entity.getColisionBounds().getX() + this.entity.getColisionBounds().getWidth() >= GameLauncher
-				.getMainWindow().getWindowCanvas().getBounds().getWidth()) {
-			CollisionEvent theCollision = new CollisionEvent(this.entity, null, "left/right wall hit",
-					this.entity.getColisionBounds().x,
-					this.entity.getColisionBounds().y, CollisionEvent.CollisionType.ENTITY_WALL);
+		if (buffered) {
+			// collisions were already detected for this tick, just notify the listeners in
+			// the order they were found
+			for (int i = 0; i < this.bufferedCollisions.size(); i++)
+				this.notifyListeners(this.bufferedCollisions.get(i));
+			this.bufferedCollisions.clear();
+		} else {
+			this.usedEvents = 0;
+			this.detectCollisions(false);
+		}
 
-			this.entity.getCollisionListeners().forEach((listener) -> { listener.onCollision(theCollision); });
+		if (this.trackingContacts) {
+			this.trackingContacts = false;
+			this.endContacts();
 		}
 		
-		if (this.entity.getColisionBounds().getY() <= 0
-				|| this.entity.getColisionBounds().getY() + this.entity.getColisionBounds().getHeight() >= GameLauncher.getMainWindow()
-						.getWindowCanvas().getBounds().getHeight()) {
-			CollisionEvent theCollision = new CollisionEvent(this.entity, null, "top/bottom wall hit",
-					this.entity.getColisionBounds().x, this.entity.getColisionBounds().y, CollisionEvent.CollisionType.ENTITY_WALL);
+		this.collide();
+	}
+	
+	/**
+	 * Detects the collisions of this component's entity against the walls and the
+	 * given entities without notifying any listener. The detected collisions are
+	 * kept, in the order they were found, and delivered on the next call to
+	 * {@link #execute()}. <br>
+	 * <br>
+	 * This method only reads the collision bounds of the entities involved, so it
+	 * can be called concurrently for different entities as long as no entity is
+	 * moved in the meantime.
+	 * 
+	 * @param entities the entities to check for collisions against
+	 * @since 2.1.0
+	 */
+	public void bufferCollisions(List<Entity> entities) {
+		this.bufferedCollisions.clear();
+		this.usedEvents = 0;
+		this.collisionsBuffered = this.collisionsAllowed;
+		if (this.collisionsAllowed)
+			this.checkCollisions(entities, true);
+	}
+	
+	/**
+	 * Detects the collisions of this component's entity against the walls and
+	 * every entity in the game, in the same way as {@link #bufferCollisions(List)}.
+	 * Only the candidates found by the {@link BroadPhase} are tested if the entity
+	 * is in one, and the packed arrays are scanned if it is in the
+	 * {@link PackedStorage}.
+	 * 
+	 * @since 2.1.0
+	 */
+	public void bufferCollisions() {
+		this.bufferedCollisions.clear();
+		this.usedEvents = 0;
+		this.collisionsBuffered = this.collisionsAllowed;
+		if (this.collisionsAllowed)
+			this.detectCollisions(true);
+	}
+	
+	/**
+	 * Detects the collisions of this component's entity against the walls and
+	 * every entity in the game, in the same way as {@link #bufferCollisions(List)}.
+	 * Requires the entity to be kept in the {@link PackedStorage}, whose arrays are
+	 * scanned instead of the entities.
+	 * 
+	 * @throws IllegalStateException if this component's entity isn't in the packed
+	 *                               storage
+	 * @since 2.1.0
+	 */
+	public void bufferPackedCollisions() throws IllegalStateException {
+		if (packedRow < 0)
+			throw new IllegalStateException(this.entity + " isn't in the packed storage");
 
-			this.entity.getCollisionListeners().forEach((listener) -> { listener.onCollision(theCollision); });
+		this.bufferedCollisions.clear();
+		this.usedEvents = 0;
+		this.collisionsBuffered = this.collisionsAllowed;
+		if (this.collisionsAllowed)
+			this.checkPackedCollisions(true);
+	}
+
+	/**
+	 * Detects the collisions between every pair of entities in the game at once,
+	 * testing each pair a single time instead of once from each side. Every
+	 * collision found produces a single {@link CollisionEvent}, with the entity
+	 * added first as its source, which is buffered for both entities and delivered
+	 * on their next call to {@link #execute()}, as with
+	 * {@link #bufferCollisions()}. <br>
+	 * <br>
+	 * Only the given receivers have their collisions buffered, the other entities
+	 * just being collided with, and pairs with no receiver aren't tested at all.
+	 * Each receiver gets its events in the same order as if it detected them
+	 * itself: walls first, then the other entities in the order they are given.
+	 * 
+	 * @param receivers the entities whose collisions should be buffered, usually
+	 *                  those about to be ticked
+	 * @param entities  every entity in the game, in the order they are ticked
+	 * @see jGame.core.entity.EntityManager#setPairCollisionPass(boolean)
+	 * @since 2.1.0
+	 */
+	public static void bufferPairCollisions(List<Entity> receivers, List<Entity> entities) {
+
+		for (Entity entity : receivers) {
+			CollisionComponent cc = entity.getComponent(CollisionComponent.class);
+			if (cc == null)
+				continue;
+
+			cc.bufferedCollisions.clear();
+			cc.usedEvents = 0;
+			cc.collisionsBuffered = cc.collisionsAllowed;
+			cc.receivingPairs = cc.collisionsAllowed;
+			if (cc.collisionsAllowed)
+				cc.checkWallCollisions(true);
+		}
+
+		for (int i = 0; i < entities.size(); i++) {
+			CollisionComponent cc = entities.get(i).getComponent(CollisionComponent.class);
+			if (cc == null)
+				continue;
+
+			// receivers already started with their walls
+			if (!cc.receivingPairs)
+				cc.usedEvents = 0;
+
+			if (cc.broadPhase != null)
+				cc.checkBroadPhasePairs();
+			else
+				cc.checkPairs(entities, i + 1);
 		}
 
-		// entity collision code
-		for (Entity entity : EntityManager.getEntitiesList()) {
+		for (Entity entity : receivers) {
+			CollisionComponent cc = entity.getComponent(CollisionComponent.class);
+			if (cc != null)
+				cc.receivingPairs = false;
+		}
+	}
+
+	// tests this component against the ones following it in the given entities
+	private void checkPairs(List<Entity> entities, int from) {
+		Rectangle bounds = this.entity.getColisionBounds();
+		boolean layered = CollisionLayers.inUse;
+
+		for (int i = from; i < entities.size(); i++) {
+			CollisionComponent other = entities.get(i).getComponent(CollisionComponent.class);
+			if (other == null || !(this.receivingPairs || other.receivingPairs))
+				continue;
+			if (layered && !CollisionLayers.interact(this, other))
+				continue;
+
+			if (this.swept || other.swept) {
+				double timeOfImpact = this.timeOfImpact(other);
+				if (timeOfImpact >= 0)
+					this.reportPairCollision(other, timeOfImpact);
+			} else if (packedRow >= 0 && other.packedRow >= 0 ? PackedStorage.intersects(packedRow, other.packedRow)
+					: bounds.intersects(other.entity.getColisionBounds()))
+				this.reportPairCollision(other, 1);
+		}
+	}
+
+	// tests this component against the candidates the broad-phase found after it
+	private void checkBroadPhasePairs() {
+
+		BroadPhase broadPhase = this.broadPhase;
+		broadPhase.query(this, this.candidates);
+
+		boolean layered = CollisionLayers.inUse;
+
+		int tested = 0, found = 0;
+		Rectangle bounds = this.entity.getColisionBounds();
+		for (int i = 0; i < this.candidates.size(); i++) {
+			CollisionComponent other = this.candidates.get(i);
+
+			// the pair is tested from the side added first
+			if (other.broadPhaseOrder < this.broadPhaseOrder || !(this.receivingPairs || other.receivingPairs))
+				continue;
+			if (layered && !CollisionLayers.interact(this, other))
+				continue;
+
+			tested++;
+			if (this.swept || other.swept) {
+				double timeOfImpact = this.timeOfImpact(other);
+				if (timeOfImpact >= 0) {
+					this.reportPairCollision(other, timeOfImpact);
+					found++;
+				}
+			} else if (bounds.intersects(other.entity.getColisionBounds())) {
+				this.reportPairCollision(other, 1);
+				found++;
+			}
+		}
+
+		broadPhase.getStatistics().record(tested, found);
+		this.candidates.clear();
+	}
+
+	// buffers a single event for both sides of a collision
+	private void reportPairCollision(CollisionComponent other, double timeOfImpact) {
+		CollisionEvent theCollision = this.createEntityCollision(other.entity, other, timeOfImpact);
+
+		if (this.receivingPairs)
+			this.bufferedCollisions.add(theCollision);
+		if (other.receivingPairs)
+			other.bufferedCollisions.add(theCollision);
+	}
+
+	// checks collisions against every entity in the game, in the cheapest way available
+	private void detectCollisions(boolean buffer) {
+		if (this.broadPhase != null)
+			this.checkBroadPhaseCollisions(buffer);
+		else if (packedRow >= 0)
+			this.checkPackedCollisions(buffer);
+		else
+			this.checkCollisions(EntityManager.getEntities(), buffer);
+	}
+
+	// checks collisions, either notifying the listeners right away or storing the events for later
+	private void checkCollisions(List<Entity> entities, boolean buffer) {
+		
+		checkWallCollisions(buffer);
+
+		boolean sweeping = SWEPT_AMOUNT.get() > 0, layered = CollisionLayers.inUse;
+
+		// entity collision code, walking lists by index when possible so no iterator is allocated
+		boolean indexed = entities instanceof RandomAccess;
+		Iterator<Entity> iterator = indexed ? null : entities.iterator();
+		for (int i = 0, size = entities.size(); i < size; i++) {
+			Entity entity = indexed ? entities.get(i) : iterator.next();
 
 			if(entity == this.entity)
 				continue; // can't collide with ourselves
 			
-			if (this.entity.getColisionBounds().intersects(entity.getColisionBounds())) {
+			if (sweeping || layered) {
+				CollisionComponent other = entity.getComponent(CollisionComponent.class);
+				if (other != null) {
+					if (layered && !CollisionLayers.interact(this, other))
+						continue;
+					if (this.swept || other.swept) {
+						this.checkSweptCollision(other, buffer);
+						continue;
+					}
+				}
+			}
+
+			if (this.entity.getColisionBounds().intersects(entity.getColisionBounds()))
+				this.reportEntityCollision(entity, buffer);
+		}
+	}
+
+	// same as checkCollisions, but scanning the bounds of every entity in the packed storage
+	private void checkPackedCollisions(boolean buffer) {
+
+		checkWallCollisions(buffer);
 
-				CollisionEvent theCollision = new CollisionEvent(this.entity, entity, entity.toString() + " hit",
-						this.entity.getColisionBounds().x, this.entity.getColisionBounds().y,
-						CollisionEvent.CollisionType.ENTITY_ENTITY);
+		boolean sweeping = SWEPT_AMOUNT.get() > 0, layered = CollisionLayers.inUse;
 
-				this.entity.getCollisionListeners().forEach((listener) -> { listener.onCollision(theCollision); });
+		int row = packedRow;
+		for (int other = 0; other < PackedStorage.size; other++) {
 
+			if (other == row)
+				continue; // can't collide with ourselves
+
+			if (sweeping || layered) {
+				CollisionComponent cc = PackedStorage.entities[other].getComponent(CollisionComponent.class);
+				if (cc != null) {
+					if (layered && !CollisionLayers.interact(this, cc))
+						continue;
+					if (this.swept || cc.swept) {
+						this.checkSweptCollision(cc, buffer);
+						continue;
+					}
+				}
 			}
-		}		
-		this.collide();
+
+			if (PackedStorage.intersects(row, other))
+				this.reportEntityCollision(PackedStorage.entities[other], buffer);
+		}
+	}
+
+	// same as checkCollisions, but only against the candidates found by the broad-phase
+	private void checkBroadPhaseCollisions(boolean buffer) {
+
+		checkWallCollisions(buffer);
+
+		BroadPhase broadPhase = this.broadPhase;
+		broadPhase.query(this, this.candidates);
+
+		boolean layered = CollisionLayers.inUse;
+
+		int tested = 0, found = 0;
+		Rectangle bounds = this.entity.getColisionBounds();
+		for (int i = 0; i < this.candidates.size(); i++) {
+			CollisionComponent other = this.candidates.get(i);
+			if (layered && !CollisionLayers.interact(this, other))
+				continue;
+
+			tested++;
+			if (this.swept || other.swept) {
+				if (this.checkSweptCollision(other, buffer))
+					found++;
+			} else if (bounds.intersects(other.entity.getColisionBounds())) {
+				this.reportEntityCollision(other.entity, buffer);
+				found++;
+			}
+		}
+
+		broadPhase.getStatistics().record(tested, found);
+		this.candidates.clear();
+	}
+
+	private void reportEntityCollision(Entity entity, boolean buffer) {
+		this.report(this.createEntityCollision(entity, null, 1), buffer);
+	}
+
+	// sweeps this component and the other along their last moves, reporting weather they hit
+	private boolean checkSweptCollision(CollisionComponent other, boolean buffer) {
+		double timeOfImpact = this.timeOfImpact(other);
+		if (timeOfImpact < 0)
+			return false;
+
+		this.report(this.createEntityCollision(other.entity, other, timeOfImpact), buffer);
+		return true;
+	}
+
+	// the earliest time, from 0 to 1, at which the bounds of both components overlapped along their
+	// last moves, or -1 if they never did. Found by intersecting the times at which they overlap on
+	// each axis, with this component moving relative to the other
+	private double timeOfImpact(CollisionComponent other) {
+		Rectangle a = this.entity.getColisionBounds(), b = other.entity.getColisionBounds();
+		if (a.width <= 0 || a.height <= 0 || b.width <= 0 || b.height <= 0)
+			return -1; // empty bounds never intersect
+
+		int ax = this.sweepStartX(), ay = this.sweepStartY();
+		int bx = other.sweepStartX(), by = other.sweepStartY();
+		int dx = (a.x - ax) - (b.x - bx), dy = (a.y - ay) - (b.y - by);
+
+		double enter = Double.NEGATIVE_INFINITY, exit = Double.POSITIVE_INFINITY;
+
+		// overlapping on the x axis while low < dx * t < high
+		int low = bx - ax - a.width, high = bx + b.width - ax;
+		if (dx == 0) {
+			if (low >= 0 || high <= 0)
+				return -1;
+		} else {
+			double t0 = (double) low / dx, t1 = (double) high / dx;
+			enter = Math.max(enter, Math.min(t0, t1));
+			exit = Math.min(exit, Math.max(t0, t1));
+		}
+
+		low = by - ay - a.height;
+		high = by + b.height - ay;
+		if (dy == 0) {
+			if (low >= 0 || high <= 0)
+				return -1;
+		} else {
+			double t0 = (double) low / dy, t1 = (double) high / dy;
+			enter = Math.max(enter, Math.min(t0, t1));
+			exit = Math.min(exit, Math.max(t0, t1));
+		}
+
+		if (enter < exit && enter < 1 && exit > 0)
+			return Math.max(enter, 0);
+		return -1;
+	}
+
+	// creates the event of this component's entity hitting the given one at the given time of its last
+	// move. The other's component is only needed for collisions before the end of the move
+	private CollisionEvent createEntityCollision(Entity entity, CollisionComponent other, double timeOfImpact) {
+		Rectangle a = this.entity.getColisionBounds(), b = entity.getColisionBounds();
+
+		// where both bounds were at the time of impact
+		double back = 1 - timeOfImpact;
+		double ax = a.x, ay = a.y, bx = b.x, by = b.y;
+		if (back > 0) {
+			ax -= (a.x - this.sweepStartX()) * back;
+			ay -= (a.y - this.sweepStartY()) * back;
+			bx -= (b.x - other.sweepStartX()) * back;
+			by -= (b.y - other.sweepStartY()) * back;
+		}
+
+		// the middle of the region they shared
+		int contactX = (int) Math.round((Math.max(ax, bx) + Math.min(ax + a.width, bx + b.width)) / 2);
+		int contactY = (int) Math.round((Math.max(ay, by) + Math.min(ay + a.height, by + b.height)) / 2);
+
+		// the text is built from the target if ever asked for
+		return this.createEvent(entity, null, (int) Math.round(ax), (int) Math.round(ay),
+				CollisionEvent.CollisionType.ENTITY_ENTITY, timeOfImpact, contactX, contactY);
+	}
+
+	// makes an event of this component's entity colliding with the given target, reusing one
+	// from this component's previous detection when events are reused
+	private CollisionEvent createEvent(Entity target, String eventText, int x, int y,
+			CollisionEvent.CollisionType collisionType, double timeOfImpact, int contactX, int contactY) {
+		if (!EntityManager.isCollisionEventReuse())
+			return new CollisionEvent(this.entity, target, eventText, x, y, collisionType, timeOfImpact, contactX,
+					contactY);
+
+		if (this.usedEvents < this.eventPool.size())
+			return this.eventPool.get(this.usedEvents++).set(this.entity, target, eventText, x, y, collisionType,
+					timeOfImpact, contactX, contactY);
+
+		CollisionEvent theCollision = new CollisionEvent(this.entity, target, eventText, x, y, collisionType,
+				timeOfImpact, contactX, contactY);
+		this.eventPool.add(theCollision);
+		this.usedEvents++;
+		return theCollision;
+	}
+
+	private int sweepStartX() {
+		return this.swept ? this.sweepFromX : this.entity.getColisionBounds().x;
+	}
+
+	private int sweepStartY() {
+		return this.swept ? this.sweepFromY : this.entity.getColisionBounds().y;
+	}
+
+	// sorts the candidates found by a broad-phase, from the given index on, in the order their entities
+	// were added to the game, the same order they would be found in by scanning every entity. Sorted in
+	// place, so it allocates nothing, and every component has its own order, so it needn't be stable
+	static void sortCandidates(List<CollisionComponent> candidates, int from) {
+		int size = candidates.size();
+		if (size - from > INSERTION_SORT_THRESHOLD) {
+			heapSortCandidates(candidates, from, size - from);
+			return;
+		}
+
+		for (int i = from + 1; i < size; i++) {
+			CollisionComponent cc = candidates.get(i);
+			int j = i - 1;
+			for (; j >= from && candidates.get(j).broadPhaseOrder > cc.broadPhaseOrder; j--)
+				candidates.set(j + 1, candidates.get(j));
+			candidates.set(j + 1, cc);
+		}
+	}
+
+	private static void heapSortCandidates(List<CollisionComponent> candidates, int from, int amount) {
+		for (int i = amount / 2 - 1; i >= 0; i--)
+			siftDownCandidate(candidates, from, i, amount);
+
+		for (int end = amount - 1; end > 0; end--) {
+			CollisionComponent last = candidates.get(from + end);
+			candidates.set(from + end, candidates.get(from));
+			candidates.set(from, last);
+			siftDownCandidate(candidates, from, 0, end);
+		}
+	}
+
+	private static void siftDownCandidate(List<CollisionComponent> candidates, int from, int i, int amount) {
+		CollisionComponent cc = candidates.get(from + i);
+		for (int child = 2 * i + 1; child < amount; child = 2 * i + 1) {
+			if (child + 1 < amount
+					&& candidates.get(from + child + 1).broadPhaseOrder > candidates.get(from + child).broadPhaseOrder)
+				child++;
+			if (candidates.get(from + child).broadPhaseOrder <= cc.broadPhaseOrder)
+				break;
+			candidates.set(from + i, candidates.get(from + child));
+			i = child;
+		}
+		candidates.set(from + i, cc);
+	}
+
+	// the bounds broad-phases keep this component under: everything it passed through if swept
+	Rectangle broadPhaseBounds() {
+		return this.swept ? this.sweptBounds : this.entity.getColisionBounds();
+	}
+
+	private void checkWallCollisions(boolean buffer) {
+
+		if (CollisionLayers.inUse && !CollisionLayers.interactsWithWalls(this))
+			return;
+		
+		// wall collision code
+		if (this.entity.getColisionBounds().getX() <= 0
+				|| this.entity.getColisionBounds().getX() + this.entity.getColisionBounds().getWidth() >= WorldBounds
+				.getWidth()) {
+			int x = this.entity.getColisionBounds().x, y = this.entity.getColisionBounds().y;
+			CollisionEvent theCollision = this.createEvent(null, "left/right wall hit", x, y,
+					CollisionEvent.CollisionType.ENTITY_WALL, 1, x, y);
+
+			this.report(theCollision, buffer);
+		}
+		
+		if (this.entity.getColisionBounds().getY() <= 0
+				|| this.entity.getColisionBounds().getY() + this.entity.getColisionBounds().getHeight() >= WorldBounds
+						.getHeight()) {
+			int x = this.entity.getColisionBounds().x, y = this.entity.getColisionBounds().y;
+			CollisionEvent theCollision = this.createEvent(null, "top/bottom wall hit", x, y,
+					CollisionEvent.CollisionType.ENTITY_WALL, 1, x, y);
+
+			this.report(theCollision, buffer);
+		}
+	}
+	
+	private void report(CollisionEvent theCollision, boolean buffer) {
+		if (buffer)
+			this.bufferedCollisions.add(theCollision);
+		else
+			this.notifyListeners(theCollision);
+	}
+	
+	private void notifyListeners(CollisionEvent theCollision) {
+		// an entity that moved, however it was moved, or that is trying to move wakes up the sleeping
+		// entities it runs into, so they see the collision too. Events from a pair pass are shared by both
+		// sides, so the other entity may be either
+		Entity other = theCollision.getSource() == this.entity ? theCollision.getTarget() : theCollision.getSource();
+		if (other != null && other.isSleeping()
+				&& (this.moving || !this.entity.getComponent(MovementComponent.class).isIdle()))
+			other.wake();
+
+		CollisionListener[] listeners = this.entity.getCollisionListenerArray();
+		for (int i = 0; i < listeners.length; i++)
+			listeners[i].onCollision(theCollision);
+
+		if (this.trackingContacts)
+			this.touch(other, theCollision);
+	}
+
+	/**
+	 * Returns weather this component's entity touched anything on its last tick,
+	 * which is only known while it has {@link ContactListener}s. Entities with
+	 * contacts don't fall asleep, so their contacts are seen ending.
+	 * 
+	 * @return {@code true} if the entity has contacts, {@code false} otherwise
+	 * @see jGame.core.entity.Entity#addContactListener(ContactListener)
+	 * @since 2.1.0
+	 */
+	public boolean hasContacts() {
+		return this.contacts != null && !this.contacts.previous.isEmpty();
+	}
+
+	// readies the contacts for a new tick, returning weather they should be kept at all
+	private boolean beginContacts() {
+		if (this.entity.getContactListenerArray().length == 0) {
+			if (this.contacts != null)
+				this.contacts.clear(); // nobody left to tell
+			return false;
+		}
+
+		if (this.contacts == null)
+			this.contacts = new Contacts();
+		return true;
+	}
+
+	// records that the entity touches the given one, or the walls if null, on this tick, telling the contact
+	// listeners if the contact has just started or, for those wanting to know, that it is going on
+	private void touch(Entity other, CollisionEvent theCollision) {
+		Contacts contacts = this.contacts;
+		if (contacts.currentSet.put(other, Boolean.TRUE) != null)
+			return; // already touched on this tick
+		contacts.current.add(other);
+
+		if (!contacts.previousSet.containsKey(other)) {
+			ContactListener[] listeners = this.entity.getContactListenerArray();
+			for (int i = 0; i < listeners.length; i++)
+				listeners[i].onContactEnter(theCollision);
+		} else {
+			ContactListener[] listeners = this.entity.getContactStayListenerArray();
+			for (int i = 0; i < listeners.length; i++)
+				listeners[i].onContactStay(theCollision);
+		}
+	}
+
+	// tells the contact listeners of the contacts of the last tick that weren't touched on this one, which
+	// then becomes the last
+	private void endContacts() {
+		Contacts contacts = this.contacts;
+		ContactListener[] listeners = this.entity.getContactListenerArray();
+
+		for (int i = 0; i < contacts.previous.size(); i++) {
+			Entity other = contacts.previous.get(i);
+			if (contacts.currentSet.containsKey(other))
+				continue;
+
+			for (int j = 0; j < listeners.length; j++)
+				listeners[j].onContactExit(this.entity, other);
+		}
+
+		contacts.swap();
 	}
 	
 	/**
@@ -107,7 +816,42 @@ public class CollisionComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void moveBounds(int x, int y) {
-		this.entity.getColisionBounds().setLocation(x, y);
+		this.setSwept(false);
+		this.moveBoundsTo(x, y);
+	}
+
+	// moves the collision bounds like moveBounds, sweeping them along the way if continuous. Used by
+	// the movement component
+	void sweepBounds(int x, int y) {
+		Rectangle bounds = this.entity.getColisionBounds();
+		this.setSwept(this.continuous && (x != bounds.x || y != bounds.y));
+
+		if (this.swept) {
+			this.sweepFromX = bounds.x;
+			this.sweepFromY = bounds.y;
+			this.sweptBounds.setBounds(Math.min(x, bounds.x), Math.min(y, bounds.y),
+					bounds.width + Math.abs(x - bounds.x), bounds.height + Math.abs(y - bounds.y));
+		}
+
+		this.moveBoundsTo(x, y);
+	}
+
+	private void setSwept(boolean swept) {
+		if (swept != this.swept)
+			SWEPT_AMOUNT.addAndGet(swept ? 1 : -1);
+		this.swept = swept;
+	}
+
+	private void moveBoundsTo(int x, int y) {
+		Rectangle bounds = this.entity.getColisionBounds();
+		if (x != bounds.x || y != bounds.y)
+			this.moved = true;
+
+		bounds.setLocation(x, y);
+		if (packedRow >= 0)
+			PackedStorage.writeBounds(packedRow, bounds);
+		if (this.broadPhase != null)
+			this.broadPhase.update(this);
 	}
 	
 	/**
@@ -120,6 +864,41 @@ public class CollisionComponent extends Component {
 		moveBounds(p.x, p.y);
 	}
 
+	/**
+	 * What an entity touched on its last tick and is touching on the current one,
+	 * kept both in the order they were touched and in identity sets to look them
+	 * up. A {@code null} entity stands for the walls.
+	 * 
+	 * @author Nuno Pereira
+	 * @since 2.1.0
+	 */
+	private static final class Contacts {
+
+		private ArrayList<Entity> previous = new ArrayList<Entity>(), current = new ArrayList<Entity>();
+		private IdentityHashMap<Entity, Boolean> previousSet = new IdentityHashMap<Entity, Boolean>(),
+				currentSet = new IdentityHashMap<Entity, Boolean>();
+
+		// makes the current tick's contacts the last tick's, and starts the current one empty
+		void swap() {
+			ArrayList<Entity> list = previous;
+			previous = current;
+			current = list;
+			current.clear();
+
+			IdentityHashMap<Entity, Boolean> set = previousSet;
+			previousSet = currentSet;
+			currentSet = set;
+			currentSet.clear();
+		}
+
+		void clear() {
+			previous.clear();
+			current.clear();
+			previousSet.clear();
+			currentSet.clear();
+		}
+	}
+
 	@Override
 	public void init() {
 
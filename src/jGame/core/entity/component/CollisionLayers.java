@@ -0,0 +1,162 @@
+package jGame.core.entity.component;
+
+/**
+ * Decides which entities can collide with which before their bounds are ever
+ * tested. Every {@link CollisionComponent} is in one of {@value #LAYER_AMOUNT}
+ * layers, and has a mask of the layers it collides with. Two entities can only
+ * collide if each one's mask holds the other's layer and the global interaction
+ * matrix lets their layers interact, so both always agree on weather they
+ * collided. <br>
+ * <br>
+ * Every layer interacts with every other by default, and every entity starts
+ * in the {@link #DEFAULT} layer with a mask holding {@link #ALL} layers, which
+ * keeps every collision. The walls of the world are in the {@link #WALL} layer,
+ * so wall collisions can be turned off the same way, and entities standing in
+ * for walls may be put there too. <br>
+ * <br>
+ * For example, to keep bullets from hitting each other:
+ *
+ * <pre>
+ * CollisionLayers.setInteraction(BULLETS, BULLETS, false);
+ * </pre>
+ *
+ * @see CollisionComponent#setCollisionLayer(int)
+ * @see CollisionComponent#setCollisionMask(int)
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class CollisionLayers {
+
+	/**
+	 * The number of collision layers.
+	 *
+	 * @since 2.1.0
+	 */
+	public static final int LAYER_AMOUNT = 32;
+
+	/**
+	 * The layer entities start in.
+	 *
+	 * @since 2.1.0
+	 */
+	public static final int DEFAULT = 0;
+
+	/**
+	 * The layer of the walls of the world.
+	 *
+	 * @since 2.1.0
+	 */
+	public static final int WALL = LAYER_AMOUNT - 1;
+
+	/**
+	 * A mask holding every layer.
+	 *
+	 * @since 2.1.0
+	 */
+	public static final int ALL = -1;
+
+	// the layers each layer interacts with, as a mask
+	private static final int[] INTERACTIONS = new int[LAYER_AMOUNT];
+
+	// set once any layer, mask or interaction is changed. Until then every pair
+	// interacts, so collision detection doesn't look them up
+	static volatile boolean inUse = false;
+
+	static {
+		reset();
+	}
+
+	// static class, can't instantiate
+	private CollisionLayers() {
+	}
+
+	/**
+	 * Sets weather entities in the given layers can collide with each other. The
+	 * interaction is symmetric, and a layer can be set not to interact with
+	 * itself.
+	 *
+	 * @param layerA   one of the layers
+	 * @param layerB   the other layer
+	 * @param interact weather entities in those layers can collide
+	 * @throws IllegalArgumentException if either layer doesn't exist
+	 * @since 2.1.0
+	 */
+	public static synchronized void setInteraction(int layerA, int layerB, boolean interact)
+			throws IllegalArgumentException {
+		checkLayer(layerA);
+		checkLayer(layerB);
+
+		if (interact) {
+			INTERACTIONS[layerA] |= bit(layerB);
+			INTERACTIONS[layerB] |= bit(layerA);
+		} else {
+			INTERACTIONS[layerA] &= ~bit(layerB);
+			INTERACTIONS[layerB] &= ~bit(layerA);
+		}
+		inUse = true;
+	}
+
+	/**
+	 * Returns weather entities in the given layers can collide with each other.
+	 *
+	 * @param layerA one of the layers
+	 * @param layerB the other layer
+	 * @return {@code true} if the layers interact, {@code false} otherwise
+	 * @throws IllegalArgumentException if either layer doesn't exist
+	 * @since 2.1.0
+	 */
+	public static boolean interacts(int layerA, int layerB) throws IllegalArgumentException {
+		checkLayer(layerA);
+		checkLayer(layerB);
+		return (INTERACTIONS[layerA] & bit(layerB)) != 0;
+	}
+
+	/**
+	 * Lets every layer interact with every other again.
+	 *
+	 * @since 2.1.0
+	 */
+	public static synchronized void reset() {
+		for (int i = 0; i < LAYER_AMOUNT; i++)
+			INTERACTIONS[i] = ALL;
+	}
+
+	/**
+	 * Returns a mask holding the given layers.
+	 *
+	 * @param layers the layers in the mask
+	 * @return the mask holding {@code layers}
+	 * @throws IllegalArgumentException if any layer doesn't exist
+	 * @since 2.1.0
+	 */
+	public static int maskOf(int... layers) throws IllegalArgumentException {
+		int mask = 0;
+		for (int layer : layers) {
+			checkLayer(layer);
+			mask |= 1 << layer;
+		}
+		return mask;
+	}
+
+	// the mask holding a single layer, known to exist
+	private static int bit(int layer) {
+		return 1 << layer;
+	}
+
+	static void checkLayer(int layer) throws IllegalArgumentException {
+		if (layer < 0 || layer >= LAYER_AMOUNT)
+			throw new IllegalArgumentException("Collision layers go from 0 to " + (LAYER_AMOUNT - 1) + ", got " + layer);
+	}
+
+	// weather the given components can collide with each other
+	static boolean interact(CollisionComponent a, CollisionComponent b) {
+		int layerA = a.collisionLayer, layerB = b.collisionLayer;
+		return (a.collisionMask & bit(layerB)) != 0 && (b.collisionMask & bit(layerA)) != 0
+				&& (INTERACTIONS[layerA] & bit(layerB)) != 0;
+	}
+
+	// weather the given component can collide with the walls of the world
+	static boolean interactsWithWalls(CollisionComponent cc) {
+		return (cc.collisionMask & bit(WALL)) != 0 && (INTERACTIONS[cc.collisionLayer] & bit(WALL)) != 0;
+	}
+}
@@ -16,6 +16,9 @@ public abstract class Component {
 	 * @since 2.0.0
 	 */
 	protected Entity entity;
+
+	// the row of the entity in the packed storage, -1 when its data is kept in the component
+	int packedRow = -1;
 	
 	/**
 	 * Creates a component attached to this entity.
@@ -0,0 +1,75 @@
+package jGame.core.entity.component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives every component class a small integer id, so an entity can keep its
+ * components in an array and look them up with a single indexed load instead
+ * of searching for them. <br>
+ * <br>
+ * The built-in components always have the lowest ids, in the order
+ * {@link TransformComponent}, {@link MovementComponent},
+ * {@link CollisionComponent} and {@link RenderComponent}. Any other component
+ * class gets the next free id the first time it is looked up. Ids are given to
+ * exact classes, so a subclass of a component gets an id of its own.
+ *
+ * @see jGame.core.entity.Entity#getComponent(Class)
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class ComponentRegistry {
+
+	/**
+	 * The ids of the built-in components.
+	 *
+	 * @since 2.1.0
+	 */
+	public static final int TRANSFORM = 0, MOVEMENT = 1, COLLISION = 2, RENDER = 3;
+
+	private static final AtomicInteger NEXT_ID = new AtomicInteger(RENDER + 1);
+
+	private static final ClassValue<Integer> IDS = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			if (type == TransformComponent.class)
+				return TRANSFORM;
+			else if (type == MovementComponent.class)
+				return MOVEMENT;
+			else if (type == CollisionComponent.class)
+				return COLLISION;
+			else if (type == RenderComponent.class)
+				return RENDER;
+			return NEXT_ID.getAndIncrement();
+		}
+	};
+
+	// static class, can't instantiate
+	private ComponentRegistry() {
+	}
+
+	/**
+	 * Returns the id of the given component class, giving it one if it doesn't
+	 * have one yet.
+	 *
+	 * @param componentClass the component class to get the id of
+	 * @return the id of the component class
+	 * @throws IllegalArgumentException if {@code componentClass} is {@code null}
+	 * @since 2.1.0
+	 */
+	public static int idOf(Class<? extends Component> componentClass) throws IllegalArgumentException {
+		if (componentClass == null)
+			throw new IllegalArgumentException("Component class can't be null");
+		return IDS.get(componentClass);
+	}
+
+	/**
+	 * Returns the number of ids given so far, which is one more than the highest
+	 * id.
+	 *
+	 * @return the number of registered component classes
+	 * @since 2.1.0
+	 */
+	public static int getComponentTypeAmount() {
+		return NEXT_ID.get();
+	}
+}
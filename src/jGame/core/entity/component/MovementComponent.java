@@ -6,7 +6,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import jGame.core.entity.Entity;
-import jGame.core.launcher.GameLauncher;
+import jGame.core.launcher.WorldBounds;
 import jGame.core.utils.MathUtils;
 import jGame.core.utils.properties.PropertiesManager;
 import jGame.logging.ProgramLogger;
@@ -100,6 +100,7 @@ public class MovementComponent extends Component {
 			throw new IllegalArgumentException("Speed must only be a positive integer");
 
 		this.speed = newSpeed;
+		this.entity.wake();
 	}
 
 	public void setInputListener() {
@@ -118,6 +119,8 @@ public class MovementComponent extends Component {
 
 				int eventKeyCode = e.getKeyCode();
 
+				mc.entity.wake();
+
 				if (eventKeyCode == mc.movementKeys[MOVE_UP]) {
 					mc.moveUp = true;
 				} else if (eventKeyCode == mc.movementKeys[MOVE_DOWN]) {
@@ -155,8 +158,8 @@ public class MovementComponent extends Component {
 	@Override
 	public void execute() {
 
-		CollisionComponent cc = (CollisionComponent) this.entity.getComponent(CollisionComponent.class);
-		TransformComponent tc = (TransformComponent) this.entity.getComponent(TransformComponent.class);
+		CollisionComponent cc = this.entity.getComponent(CollisionComponent.class);
+		TransformComponent tc = this.entity.getComponent(TransformComponent.class);
 
 		if (userControlled) {
 			for (String key : this.actionBindingMap.keySet())
@@ -181,30 +184,36 @@ public class MovementComponent extends Component {
 					this.moveHorizontal = 0;
 		}
 
-		this.velX = this.moveHorizontal * this.speed;
-		this.velY = this.moveVertical * this.speed;
+		int velX = this.moveHorizontal * this.speed;
+		int velY = this.moveVertical * this.speed;
+
+		if (packedRow < 0) {
+			this.velX = velX;
+			this.velY = velY;
+		} else {
+			PackedStorage.velX[packedRow] = velX;
+			PackedStorage.velY[packedRow] = velY;
+		}
 
 		int tempX = tc.getX();
 		int tempY = tc.getY();
 
 		// movement code
-		tempX += this.velX;
-		tempY += this.velY;
+		tempX += velX;
+		tempY += velY;
 
 		// movement constraints code
 
 		// make so the x and y coordinates don't make the entity go out of the window
-		tempX = MathUtils.clamp(tempX, 0, (int) (GameLauncher.getMainWindow().getWindowCanvas().getBounds().getWidth()
-				- this.entity.getColisionBounds().getWidth()));
-		tempY = MathUtils.clamp(tempY, 0, (int) (GameLauncher.getMainWindow().getWindowCanvas().getBounds().getHeight()
-				- this.entity.getColisionBounds().getHeight()));
+		tempX = MathUtils.clamp(tempX, 0, (int) (WorldBounds.getWidth() - this.entity.getColisionBounds().getWidth()));
+		tempY = MathUtils.clamp(tempY, 0, (int) (WorldBounds.getHeight() - this.entity.getColisionBounds().getHeight()));
 
 		tc.setX(tempX);
 		tc.setY(tempY);
 
-		// collision bounds relocation code
+		// collision bounds relocation code, sweeping them along the move for fast entities
 
-		cc.moveBounds(tc.getX(), tc.getY());
+		cc.sweepBounds(tc.getX(), tc.getY());
 	}
 
 	/**
@@ -256,6 +265,7 @@ public class MovementComponent extends Component {
 		if (i != 0 && i != 1 && i != -1)
 			throw new IllegalArgumentException("Argument must be -1, 0 or 1, got " + i);
 		this.moveHorizontal = i;
+		this.entity.wake();
 	}
 
 	/**
@@ -265,6 +275,7 @@ public class MovementComponent extends Component {
 	 */
 	public void bounceHorizontal() {
 		this.moveHorizontal *= -1;
+		this.entity.wake();
 	}
 
 	/**
@@ -277,6 +288,7 @@ public class MovementComponent extends Component {
 		if (i != 0 && i != 1 && i != -1)
 			throw new IllegalArgumentException("Argument must be -1, 0 or 1, got " + i);
 		this.moveVertical = i;
+		this.entity.wake();
 	}
 
 	/**
@@ -286,6 +298,7 @@ public class MovementComponent extends Component {
 	 */
 	public void bounceVertical() {
 		this.moveVertical *= -1;
+		this.entity.wake();
 	}
 
 	/**
@@ -306,6 +319,66 @@ public class MovementComponent extends Component {
 		this.verticalMovementEnabled = !this.verticalMovementEnabled;
 	}
 
+	/**
+	 * Returns weather this component has no movement to make: there is no
+	 * movement direction and, if the entity is user controlled, no movement key or
+	 * key binding is pressed.
+	 * 
+	 * @return {@code true} if this component's entity won't move on its own,
+	 *         {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean isIdle() {
+		if (this.moveHorizontal != 0 || this.moveVertical != 0)
+			return false;
+
+		if (this.userControlled) {
+			if (this.moveUp || this.moveDown || this.moveLeft || this.moveRight)
+				return false;
+			for (Boolean pressed : this.bindingMap.values())
+				if (pressed)
+					return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Stops this component's entity, as if it had just been created: its velocity,
+	 * movement direction and pressed keys are cleared and movement is enabled on
+	 * both axes. Its speed and key bindings are kept.
+	 * 
+	 * @since 2.1.0
+	 */
+	public void restart() {
+		if (packedRow < 0) {
+			this.velX = 0;
+			this.velY = 0;
+		} else {
+			PackedStorage.velX[packedRow] = 0;
+			PackedStorage.velY[packedRow] = 0;
+		}
+
+		this.moveHorizontal = 0;
+		this.moveVertical = 0;
+		this.moveLeft = this.moveRight = this.moveUp = this.moveDown = false;
+		this.horizontalMovementEnabled = true;
+		this.verticalMovementEnabled = true;
+		this.bindingMap.replaceAll((key, pressed) -> false);
+	}
+
+	// copies this component's velocity into the given packed storage row
+	void copyTo(int row) {
+		PackedStorage.velX[row] = velX;
+		PackedStorage.velY[row] = velY;
+	}
+
+	// copies the given packed storage row's velocity back into this component
+	void copyFrom(int row) {
+		velX = PackedStorage.velX[row];
+		velY = PackedStorage.velY[row];
+	}
+
 	@Override
 	public void init() {
 		try {
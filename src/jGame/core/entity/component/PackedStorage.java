@@ -0,0 +1,223 @@
+package jGame.core.entity.component;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+import jGame.core.entity.Entity;
+import jGame.core.internal.Internals;
+import jGame.core.internal.PackedRows;
+
+/**
+ * Optional storage keeping the transform, velocity and collision bounds of
+ * every entity in the game in packed primitive arrays, one row per entity, in
+ * the order the entities are ticked. While an entity is stored here its
+ * {@link TransformComponent}, {@link MovementComponent} and
+ * {@link CollisionComponent} read and write their row instead of their own
+ * fields, and passes over every entity, such as collision detection, walk the
+ * arrays linearly instead of chasing pointers from one entity to the next.
+ * <br>
+ * <br>
+ * Rows are managed by the {@link jGame.core.entity.EntityManager}: an entity
+ * gets a row when it is added to the game and gives it back, along with its
+ * data, when it is removed. Rows can't be managed from outside the engine.
+ *
+ * @see jGame.core.entity.EntityManager#setPackedStorage(boolean)
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class PackedStorage {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	// transform data
+	static int[] x = new int[INITIAL_CAPACITY], y = new int[INITIAL_CAPACITY];
+	static int[] previousX = new int[INITIAL_CAPACITY], previousY = new int[INITIAL_CAPACITY];
+	static int[] startingX = new int[INITIAL_CAPACITY], startingY = new int[INITIAL_CAPACITY];
+	static int[] width = new int[INITIAL_CAPACITY], height = new int[INITIAL_CAPACITY];
+
+	// movement data
+	static int[] velX = new int[INITIAL_CAPACITY], velY = new int[INITIAL_CAPACITY];
+
+	// collision bounds
+	static int[] boundsX = new int[INITIAL_CAPACITY], boundsY = new int[INITIAL_CAPACITY];
+	static int[] boundsWidth = new int[INITIAL_CAPACITY], boundsHeight = new int[INITIAL_CAPACITY];
+
+	// the entity owning each row
+	static Entity[] entities = new Entity[INITIAL_CAPACITY];
+
+	static int size = 0;
+
+	// rows are managed by the entity store, through a hook that isn't part of the API
+	static {
+		Internals.setPackedRows(new PackedRows() {
+
+			@Override
+			public int attach(Entity entity) {
+				return PackedStorage.attach(entity);
+			}
+
+			@Override
+			public void detach(int row) {
+				PackedStorage.detach(row);
+			}
+
+			@Override
+			public void move(int from, int to) {
+				PackedStorage.move(from, to);
+			}
+
+			@Override
+			public void truncate(int size) {
+				PackedStorage.truncate(size);
+			}
+		});
+	}
+
+	// static class, can't instantiate
+	private PackedStorage() {
+	}
+
+	// appends a row for the given entity, copying its data into it. From then on the entity's components
+	// work on the row
+	static int attach(Entity entity) {
+
+		if (size == entities.length)
+			grow(size * 2);
+
+		int row = size++;
+
+		TransformComponent tc = entity.getComponent(TransformComponent.class);
+		MovementComponent mc = entity.getComponent(MovementComponent.class);
+		CollisionComponent cc = entity.getComponent(CollisionComponent.class);
+
+		tc.copyTo(row);
+		mc.copyTo(row);
+		entities[row] = entity;
+		writeBounds(row, entity.getColisionBounds());
+
+		tc.packedRow = mc.packedRow = cc.packedRow = row;
+
+		return row;
+	}
+
+	// copies a row back into its entity's components, which stop using it. The row itself is left in
+	// place, to be overwritten or truncated
+	static void detach(int row) {
+
+		Entity entity = entities[row];
+
+		TransformComponent tc = entity.getComponent(TransformComponent.class);
+		MovementComponent mc = entity.getComponent(MovementComponent.class);
+		CollisionComponent cc = entity.getComponent(CollisionComponent.class);
+
+		tc.packedRow = mc.packedRow = cc.packedRow = -1;
+
+		tc.copyFrom(row);
+		mc.copyFrom(row);
+		entities[row] = null;
+	}
+
+	// moves the data of a row to another row, overwriting it
+	static void move(int from, int to) {
+
+		if (from == to)
+			return;
+
+		x[to] = x[from];
+		y[to] = y[from];
+		previousX[to] = previousX[from];
+		previousY[to] = previousY[from];
+		startingX[to] = startingX[from];
+		startingY[to] = startingY[from];
+		width[to] = width[from];
+		height[to] = height[from];
+		velX[to] = velX[from];
+		velY[to] = velY[from];
+		boundsX[to] = boundsX[from];
+		boundsY[to] = boundsY[from];
+		boundsWidth[to] = boundsWidth[from];
+		boundsHeight[to] = boundsHeight[from];
+
+		Entity entity = entities[from];
+		entities[to] = entity;
+		entities[from] = null;
+
+		(entity.getComponent(TransformComponent.class)).packedRow = to;
+		(entity.getComponent(MovementComponent.class)).packedRow = to;
+		(entity.getComponent(CollisionComponent.class)).packedRow = to;
+	}
+
+	// drops every row from size onwards
+	static void truncate(int size) {
+		Arrays.fill(entities, size, PackedStorage.size, null);
+		PackedStorage.size = size;
+	}
+
+	/**
+	 * Returns the number of rows in use.
+	 *
+	 * @return the number of stored entities
+	 * @since 2.1.0
+	 */
+	public static int size() {
+		return size;
+	}
+
+	/**
+	 * Stores the current position of every stored entity as the position it had
+	 * on the previous tick.
+	 *
+	 * @see TransformComponent#storePreviousPosition()
+	 * @since 2.1.0
+	 */
+	public static void storePreviousPositions() {
+		System.arraycopy(x, 0, previousX, 0, size);
+		System.arraycopy(y, 0, previousY, 0, size);
+	}
+
+	// copies the collision bounds of an entity into its row
+	static void writeBounds(int row, Rectangle bounds) {
+		boundsX[row] = bounds.x;
+		boundsY[row] = bounds.y;
+		boundsWidth[row] = bounds.width;
+		boundsHeight[row] = bounds.height;
+	}
+
+	// same as Rectangle.intersects, on the collision bounds of two rows
+	static boolean intersects(int row, int other) {
+		int tw = boundsWidth[row], th = boundsHeight[row];
+		int rw = boundsWidth[other], rh = boundsHeight[other];
+
+		if (rw <= 0 || rh <= 0 || tw <= 0 || th <= 0)
+			return false;
+
+		int tx = boundsX[row], ty = boundsY[row];
+		int rx = boundsX[other], ry = boundsY[other];
+
+		rw += rx;
+		rh += ry;
+		tw += tx;
+		th += ty;
+
+		// overflow or intersect
+		return ((rw < rx || rw > tx) && (rh < ry || rh > ty) && (tw < tx || tw > rx) && (th < ty || th > ry));
+	}
+
+	private static void grow(int capacity) {
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		previousX = Arrays.copyOf(previousX, capacity);
+		previousY = Arrays.copyOf(previousY, capacity);
+		startingX = Arrays.copyOf(startingX, capacity);
+		startingY = Arrays.copyOf(startingY, capacity);
+		width = Arrays.copyOf(width, capacity);
+		height = Arrays.copyOf(height, capacity);
+		velX = Arrays.copyOf(velX, capacity);
+		velY = Arrays.copyOf(velY, capacity);
+		boundsX = Arrays.copyOf(boundsX, capacity);
+		boundsY = Arrays.copyOf(boundsY, capacity);
+		boundsWidth = Arrays.copyOf(boundsWidth, capacity);
+		boundsHeight = Arrays.copyOf(boundsHeight, capacity);
+		entities = Arrays.copyOf(entities, capacity);
+	}
+}
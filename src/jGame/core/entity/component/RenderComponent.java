@@ -88,6 +88,25 @@ public class RenderComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void render(Graphics2D g) {
+		TransformComponent tc = this.entity.getComponent(TransformComponent.class);
+		double alpha = this.entity.getInterpolation();
+		
+		this.render(g, tc.getInterpolatedX(alpha), tc.getInterpolatedY(alpha), tc.getWidth(), tc.getHeight());
+	}
+	
+	/**
+	 * Renders the entity containing this RenderComponent at the given position and
+	 * with the given dimensions, instead of the ones stored in its
+	 * {@link TransformComponent}.
+	 * 
+	 * @param g      the graphics context bused to render this component's entity
+	 * @param x      the x position to render the entity at
+	 * @param y      the y position to render the entity at
+	 * @param width  the width to render the entity with
+	 * @param height the height to render the entity with
+	 * @since 2.1.0
+	 */
+	public void render(Graphics2D g, int x, int y, int width, int height) {
 
 		// store the initial values, since they might get changed inside the draw functions
 		Color startingColor = g.getColor();
@@ -106,7 +125,8 @@ public class RenderComponent extends Component {
 		} else {
 			// render the shape assigned to this component
 			try {
-				this.getClass().getDeclaredMethod("draw" + this.shape.getShapeMethodName(), Graphics2D.class).invoke(this, g);
+				this.getClass().getDeclaredMethod("draw" + this.shape.getShapeMethodName(), Graphics2D.class, int.class,
+						int.class, int.class, int.class).invoke(this, g, x, y, width, height);
 			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
 					| NoSuchMethodException | SecurityException e) {
 				ProgramLogger.writeErrorLog(e, e.getMessage());
@@ -130,36 +150,32 @@ public class RenderComponent extends Component {
 	}
 
 	@SuppressWarnings("unused")
-	private void drawRect(Graphics2D g) {
-		
-		TransformComponent tc = (TransformComponent) this.entity.getComponent(TransformComponent.class);
+	private void drawRect(Graphics2D g, int x, int y, int width, int height) {
 		
 		if(fill)
-			g.fillRect(tc.getX(), tc.getY(), tc.getWidth(), tc.getHeight());
+			g.fillRect(x, y, width, height);
 		else
-			g.drawRect(tc.getX(), tc.getY(), tc.getWidth(), tc.getHeight());
+			g.drawRect(x, y, width, height);
 		
 	}
 
 	@SuppressWarnings("unused")
-	private void drawOval(Graphics2D g) {
-
-		TransformComponent tc = (TransformComponent) this.entity.getComponent(TransformComponent.class);
+	private void drawOval(Graphics2D g, int x, int y, int width, int height) {
 		
 		if(fill)
-			g.fillOval(tc.getX(), tc.getY(), tc.getWidth(), tc.getHeight());
+			g.fillOval(x, y, width, height);
 		else
-			g.drawOval(tc.getX(), tc.getY(), tc.getWidth(), tc.getHeight());
+			g.drawOval(x, y, width, height);
 		
 	}
 
 	@SuppressWarnings("unused")
-	private void drawShape(Graphics2D g) {
+	private void drawShape(Graphics2D g, int x, int y, int width, int height) {
 
 	}
 	
 	@SuppressWarnings("unused")
-	private void drawCustom(Graphics2D g) {
+	private void drawCustom(Graphics2D g, int x, int y, int width, int height) {
 		
 	}
 
@@ -104,10 +104,10 @@ public class ScriptComponent extends Component {
 
 	@Override
 	public void init() {
-		this.mc = (MovementComponent) this.entity.getComponent(MovementComponent.class);
-		this.cc = (CollisionComponent) this.entity.getComponent(CollisionComponent.class);
-		this.rc = (RenderComponent) this.entity.getComponent(RenderComponent.class);
-		this.tc = (TransformComponent) this.entity.getComponent(TransformComponent.class);
+		this.mc = this.entity.getComponent(MovementComponent.class);
+		this.cc = this.entity.getComponent(CollisionComponent.class);
+		this.rc = this.entity.getComponent(RenderComponent.class);
+		this.tc = this.entity.getComponent(TransformComponent.class);
 		initScript.run();
 	}
 }
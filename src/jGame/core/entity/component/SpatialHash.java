@@ -0,0 +1,293 @@
+package jGame.core.entity.component;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A broad-phase for collision detection that splits the world into a uniform
+ * grid of square cells and keeps, for every cell, the collision components whose
+ * bounds overlap it. Only entities sharing a cell can collide, so an entity is
+ * tested against its neighbours instead of against every entity in the game.
+ * <br>
+ * <br>
+ * The grid is updated incrementally: {@link CollisionComponent#moveBounds(int, int)}
+ * only touches the grid when the bounds move into a different set of cells.
+ * Cells are found through an open addressing hash of their coordinates, so the
+ * grid needs no fixed size and the world may grow past its bounds. <br>
+ * <br>
+ * Queries only read the grid, so they can run concurrently as long as no entity
+ * is moved, added or removed in the meantime.
+ *
+ * @see jGame.core.entity.EntityManager#setBroadPhase(BroadPhase)
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class SpatialHash implements BroadPhase {
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	private final int cellSize;
+
+	// open addressing map from cell coordinates to cells. Empty cells are kept for reuse
+	private long[] keys = new long[INITIAL_CAPACITY];
+	private Cell[] cells = new Cell[INITIAL_CAPACITY];
+	private int cellAmount = 0;
+
+	private int size = 0;
+	private long nextOrder = 0;
+
+	private final BroadPhaseStatistics statistics = new BroadPhaseStatistics();
+
+	/**
+	 * Creates an empty spatial hash.
+	 *
+	 * @param cellSize the side of every cell, in pixels. Works best a bit larger
+	 *                 than the typical entity
+	 * @throws IllegalArgumentException if {@code cellSize} is not positive
+	 * @since 2.1.0
+	 */
+	public SpatialHash(int cellSize) throws IllegalArgumentException {
+		if (cellSize <= 0)
+			throw new IllegalArgumentException("Cell size must be positive, got " + cellSize);
+
+		this.cellSize = cellSize;
+	}
+
+	@Override
+	public void insert(CollisionComponent cc) throws IllegalStateException {
+		if (cc.broadPhase != null)
+			throw new IllegalStateException(cc.entity + " is already in a broad-phase");
+
+		cc.broadPhase = this;
+		cc.broadPhaseOrder = nextOrder++;
+
+		Rectangle bounds = cc.broadPhaseBounds();
+		cc.cellMinX = cellOf(bounds.x);
+		cc.cellMinY = cellOf(bounds.y);
+		cc.cellMaxX = cellOf(bounds.x + Math.max(bounds.width, 1) - 1);
+		cc.cellMaxY = cellOf(bounds.y + Math.max(bounds.height, 1) - 1);
+
+		addToCells(cc, cc.cellMinX, cc.cellMinY, cc.cellMaxX, cc.cellMaxY);
+		size++;
+	}
+
+	@Override
+	public void update(CollisionComponent cc) {
+		if (cc.broadPhase != this)
+			return;
+
+		Rectangle bounds = cc.broadPhaseBounds();
+		int minX = cellOf(bounds.x), minY = cellOf(bounds.y);
+		int maxX = cellOf(bounds.x + Math.max(bounds.width, 1) - 1);
+		int maxY = cellOf(bounds.y + Math.max(bounds.height, 1) - 1);
+
+		if (minX == cc.cellMinX && minY == cc.cellMinY && maxX == cc.cellMaxX && maxY == cc.cellMaxY)
+			return;
+
+		removeFromCells(cc, cc.cellMinX, cc.cellMinY, cc.cellMaxX, cc.cellMaxY);
+		cc.cellMinX = minX;
+		cc.cellMinY = minY;
+		cc.cellMaxX = maxX;
+		cc.cellMaxY = maxY;
+		addToCells(cc, minX, minY, maxX, maxY);
+	}
+
+	@Override
+	public void remove(CollisionComponent cc) {
+		if (cc.broadPhase != this)
+			return;
+
+		removeFromCells(cc, cc.cellMinX, cc.cellMinY, cc.cellMaxX, cc.cellMaxY);
+		cc.broadPhase = null;
+		size--;
+	}
+
+	@Override
+	public void query(CollisionComponent cc, List<CollisionComponent> candidates) {
+		if (cc.broadPhase != this)
+			return;
+
+		int start = candidates.size();
+
+		for (int y = cc.cellMinY; y <= cc.cellMaxY; y++) {
+			for (int x = cc.cellMinX; x <= cc.cellMaxX; x++) {
+
+				Cell cell = getCell(x, y);
+				if (cell == null)
+					continue;
+
+				for (int i = 0; i < cell.size; i++) {
+					CollisionComponent other = cell.items[i];
+					if (other == cc)
+						continue;
+
+					// a pair sharing several cells is only reported in the first of them
+					if (Math.max(cc.cellMinX, other.cellMinX) == x && Math.max(cc.cellMinY, other.cellMinY) == y)
+						candidates.add(other);
+				}
+			}
+		}
+
+		CollisionComponent.sortCandidates(candidates, start);
+	}
+
+	@Override
+	public void clear() {
+		for (Cell cell : cells) {
+			if (cell == null)
+				continue;
+			for (int i = 0; i < cell.size; i++)
+				cell.items[i].broadPhase = null;
+		}
+
+		keys = new long[INITIAL_CAPACITY];
+		cells = new Cell[INITIAL_CAPACITY];
+		cellAmount = 0;
+		size = 0;
+	}
+
+	/**
+	 * Returns the side of every cell.
+	 *
+	 * @return the cell size, in pixels
+	 * @since 2.1.0
+	 */
+	public int getCellSize() {
+		return cellSize;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of cells entities have been in, including those now
+	 * empty.
+	 *
+	 * @return the number of cells allocated
+	 * @since 2.1.0
+	 */
+	public int getCellAmount() {
+		return cellAmount;
+	}
+
+	@Override
+	public BroadPhaseStatistics getStatistics() {
+		return statistics;
+	}
+
+	@Override
+	public String toString() {
+		return "SpatialHash [cellSize=" + cellSize + ", size=" + size + ", " + statistics + "]";
+	}
+
+	private int cellOf(int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	private void addToCells(CollisionComponent cc, int minX, int minY, int maxX, int maxY) {
+		for (int y = minY; y <= maxY; y++)
+			for (int x = minX; x <= maxX; x++)
+				getOrCreateCell(x, y).add(cc);
+	}
+
+	private void removeFromCells(CollisionComponent cc, int minX, int minY, int maxX, int maxY) {
+		for (int y = minY; y <= maxY; y++)
+			for (int x = minX; x <= maxX; x++) {
+				Cell cell = getCell(x, y);
+				if (cell != null)
+					cell.remove(cc);
+			}
+	}
+
+	private static long keyOf(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	private int slotOf(long key, int capacity) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash >>> 40) & (capacity - 1);
+	}
+
+	private Cell getCell(int x, int y) {
+		long key = keyOf(x, y);
+		int mask = cells.length - 1;
+
+		for (int slot = slotOf(key, cells.length);; slot = (slot + 1) & mask) {
+			Cell cell = cells[slot];
+			if (cell == null || keys[slot] == key)
+				return cell;
+		}
+	}
+
+	private Cell getOrCreateCell(int x, int y) {
+		long key = keyOf(x, y);
+		int mask = cells.length - 1;
+
+		int slot = slotOf(key, cells.length);
+		for (; cells[slot] != null; slot = (slot + 1) & mask)
+			if (keys[slot] == key)
+				return cells[slot];
+
+		Cell cell = new Cell();
+		keys[slot] = key;
+		cells[slot] = cell;
+
+		// keep the table at most half full so probes stay short
+		if (++cellAmount * 2 > cells.length)
+			rehash(cells.length * 2);
+
+		return cell;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		Cell[] oldCells = cells;
+
+		keys = new long[capacity];
+		cells = new Cell[capacity];
+		int mask = capacity - 1;
+
+		for (int i = 0; i < oldCells.length; i++) {
+			if (oldCells[i] == null)
+				continue;
+
+			int slot = slotOf(oldKeys[i], capacity);
+			while (cells[slot] != null)
+				slot = (slot + 1) & mask;
+
+			keys[slot] = oldKeys[i];
+			cells[slot] = oldCells[i];
+		}
+	}
+
+	/**
+	 * The collision components overlapping a cell, in no particular order.
+	 *
+	 * @author Nuno Pereira
+	 * @since 2.1.0
+	 */
+	private static final class Cell {
+
+		private CollisionComponent[] items = new CollisionComponent[4];
+		private int size = 0;
+
+		void add(CollisionComponent cc) {
+			if (size == items.length)
+				items = Arrays.copyOf(items, size * 2);
+			items[size++] = cc;
+		}
+
+		void remove(CollisionComponent cc) {
+			for (int i = 0; i < size; i++) {
+				if (items[i] == cc) {
+					items[i] = items[--size];
+					items[size] = null;
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,392 @@
+package jGame.core.entity.component;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A sort-and-sweep broad-phase along the x axis. The left and right edges of
+ * every entity's bounds are kept in a single sorted list of endpoints, along
+ * with, for every entity, the entities whose bounds overlap its own on the x
+ * axis. Unlike a {@link SpatialHash}, it doesn't depend on the size of the
+ * entities, so it suits scenes with a few huge entities among many tiny ones.
+ * <br>
+ * <br>
+ * The list is kept between ticks. When an entity moves, its endpoints are moved
+ * to their new place with an insertion sort, and every endpoint they pass
+ * starts or ends an overlap, so with entities moving a little each tick an
+ * update costs close to nothing. Added entities are sorted into the list the
+ * same way, and removed ones are dropped from it in place the next time it is
+ * used, so spawning and removing a few entities every tick stays as cheap. Only
+ * adding many entities at once, as when loading a level, falls back to a full
+ * sort and sweep, done once before the list is next used.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class SweepAndPrune implements BroadPhase {
+
+	private static final int INITIAL_CAPACITY = 128;
+
+	// entities added between two uses of the list past which a full sort and sweep
+	// is cheaper than sorting each of them in
+	private static final int SORT_THRESHOLD = 32;
+
+	// the endpoints, sorted by value with right edges before left edges at the same
+	// value, since bounds that only touch don't overlap
+	private int[] values = new int[INITIAL_CAPACITY];
+	private boolean[] rightEdges = new boolean[INITIAL_CAPACITY];
+	private CollisionComponent[] owners = new CollisionComponent[INITIAL_CAPACITY];
+	private int endpointAmount = 0;
+
+	private int size = 0;
+	private long nextOrder = 0;
+
+	// set when many entities are added at once, until the endpoints are sorted again
+	private boolean dirty = false;
+
+	// entities added since the list was last used
+	private int pendingInserts = 0;
+
+	// endpoints of removed entities not yet dropped from the list
+	private int removedEndpoints = 0;
+
+	private final BroadPhaseStatistics statistics = new BroadPhaseStatistics();
+
+	/**
+	 * Creates an empty sweep-and-prune broad-phase.
+	 *
+	 * @since 2.1.0
+	 */
+	public SweepAndPrune() {
+	}
+
+	@Override
+	public void insert(CollisionComponent cc) throws IllegalStateException {
+		if (cc.broadPhase != null)
+			throw new IllegalStateException(cc.entity + " is already in a broad-phase");
+
+		cc.broadPhase = this;
+		cc.broadPhaseOrder = nextOrder++;
+
+		if (cc.overlaps == null)
+			cc.overlaps = new ArrayList<CollisionComponent>();
+		cc.overlaps.clear();
+
+		if (!dirty && ++pendingInserts > SORT_THRESHOLD)
+			dirty = true;
+
+		if (!dirty && removedEndpoints > 0)
+			compact();
+
+		if (endpointAmount + 2 > values.length)
+			grow(values.length * 2);
+
+		Rectangle bounds = cc.broadPhaseBounds();
+		cc.leftEndpoint = addEndpoint(cc, left(bounds), false);
+		cc.rightEndpoint = addEndpoint(cc, right(bounds), true);
+		size++;
+
+		if (dirty)
+			return;
+
+		// both edges start past every other endpoint, overlapping nothing, and are
+		// moved in from there like when the entity moves, left edge first
+		siftLeft(cc.leftEndpoint);
+		siftLeft(cc.rightEndpoint);
+	}
+
+	@Override
+	public void update(CollisionComponent cc) {
+		if (cc.broadPhase != this)
+			return;
+
+		Rectangle bounds = cc.broadPhaseBounds();
+		int left = left(bounds), right = right(bounds);
+
+		if (dirty) {
+			// everything gets sorted before the next query anyway
+			values[cc.leftEndpoint] = left;
+			values[cc.rightEndpoint] = right;
+			return;
+		}
+
+		if (removedEndpoints > 0)
+			compact();
+
+		// move the leading edge first, so the left edge stays before the right one
+		if (left < values[cc.leftEndpoint]) {
+			values[cc.leftEndpoint] = left;
+			siftLeft(cc.leftEndpoint);
+			values[cc.rightEndpoint] = right;
+			moveEndpoint(cc.rightEndpoint);
+		} else {
+			values[cc.rightEndpoint] = right;
+			moveEndpoint(cc.rightEndpoint);
+			values[cc.leftEndpoint] = left;
+			moveEndpoint(cc.leftEndpoint);
+		}
+	}
+
+	@Override
+	public void remove(CollisionComponent cc) {
+		if (cc.broadPhase != this)
+			return;
+
+		// the endpoints are dropped the next time the list is used
+		owners[cc.leftEndpoint] = null;
+		owners[cc.rightEndpoint] = null;
+		removedEndpoints += 2;
+		cc.broadPhase = null;
+
+		if (!dirty)
+			for (int i = 0; i < cc.overlaps.size(); i++)
+				cc.overlaps.get(i).overlaps.remove(cc);
+		cc.overlaps.clear();
+
+		size--;
+	}
+
+	@Override
+	public void query(CollisionComponent cc, List<CollisionComponent> candidates) {
+		if (cc.broadPhase != this)
+			return;
+
+		settle();
+
+		int start = candidates.size();
+		candidates.addAll(cc.overlaps);
+
+		CollisionComponent.sortCandidates(candidates, start);
+	}
+
+	@Override
+	public void prepare() {
+		settle();
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < endpointAmount; i++) {
+			CollisionComponent owner = owners[i];
+			if (owner != null && owner.broadPhase == this) {
+				owner.broadPhase = null;
+				owner.overlaps.clear();
+			}
+		}
+
+		Arrays.fill(owners, 0, endpointAmount, null);
+		endpointAmount = 0;
+		size = 0;
+		dirty = false;
+		pendingInserts = 0;
+		removedEndpoints = 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public BroadPhaseStatistics getStatistics() {
+		return statistics;
+	}
+
+	// broad-phases work with at least a pixel wide bounds, so empty bounds keep
+	// their left edge before their right one
+	private static int left(Rectangle bounds) {
+		return bounds.x;
+	}
+
+	private static int right(Rectangle bounds) {
+		return bounds.x + Math.max(bounds.width, 1);
+	}
+
+	private int addEndpoint(CollisionComponent owner, int value, boolean rightEdge) {
+		int index = endpointAmount++;
+		values[index] = value;
+		rightEdges[index] = rightEdge;
+		owners[index] = owner;
+		return index;
+	}
+
+	// weather endpoint a belongs before endpoint b
+	private boolean before(int a, int b) {
+		return values[a] < values[b] || (values[a] == values[b] && rightEdges[a] && !rightEdges[b]);
+	}
+
+	private void moveEndpoint(int index) {
+		if (index > 0 && before(index, index - 1))
+			siftLeft(index);
+		else
+			siftRight(index);
+	}
+
+	private void siftLeft(int index) {
+		while (index > 0 && before(index, index - 1)) {
+			int other = index - 1;
+
+			if (owners[index] != owners[other]) {
+				if (!rightEdges[index] && rightEdges[other])
+					addOverlap(owners[index], owners[other]); // a left edge moved past a right edge
+				else if (rightEdges[index] && !rightEdges[other])
+					removeOverlap(owners[index], owners[other]); // a right edge moved past a left edge
+			}
+
+			swap(index, other);
+			index = other;
+		}
+	}
+
+	private void siftRight(int index) {
+		while (index < endpointAmount - 1 && before(index + 1, index)) {
+			int other = index + 1;
+
+			if (owners[index] != owners[other]) {
+				if (rightEdges[index] && !rightEdges[other])
+					addOverlap(owners[index], owners[other]); // a right edge moved past a left edge
+				else if (!rightEdges[index] && rightEdges[other])
+					removeOverlap(owners[index], owners[other]); // a left edge moved past a right edge
+			}
+
+			swap(index, other);
+			index = other;
+		}
+	}
+
+	private void swap(int a, int b) {
+		int value = values[a];
+		values[a] = values[b];
+		values[b] = value;
+
+		boolean rightEdge = rightEdges[a];
+		rightEdges[a] = rightEdges[b];
+		rightEdges[b] = rightEdge;
+
+		CollisionComponent owner = owners[a];
+		owners[a] = owners[b];
+		owners[b] = owner;
+
+		setEndpoint(a);
+		setEndpoint(b);
+	}
+
+	// tells the owner of an endpoint where it now is
+	private void setEndpoint(int index) {
+		if (rightEdges[index])
+			owners[index].rightEndpoint = index;
+		else
+			owners[index].leftEndpoint = index;
+	}
+
+	private static void addOverlap(CollisionComponent a, CollisionComponent b) {
+		a.overlaps.add(b);
+		b.overlaps.add(a);
+	}
+
+	private static void removeOverlap(CollisionComponent a, CollisionComponent b) {
+		a.overlaps.remove(b);
+		b.overlaps.remove(a);
+	}
+
+	// applies pending changes before the list is used
+	private void settle() {
+		if (dirty)
+			sortAndSweep();
+		else if (removedEndpoints > 0)
+			compact();
+
+		pendingInserts = 0;
+	}
+
+	// drops the endpoints of removed entities, keeping the rest in order
+	private void compact() {
+		int live = 0;
+		for (int i = 0; i < endpointAmount; i++) {
+			if (owners[i] == null)
+				continue;
+
+			if (live != i) {
+				values[live] = values[i];
+				rightEdges[live] = rightEdges[i];
+				owners[live] = owners[i];
+				setEndpoint(live);
+			}
+			live++;
+		}
+
+		Arrays.fill(owners, live, endpointAmount, null);
+		endpointAmount = live;
+		removedEndpoints = 0;
+	}
+
+	// drops removed endpoints, sorts the rest and finds every overlap from scratch
+	private void sortAndSweep() {
+
+		// sort keys: the value, then right edges first, then the endpoint's index
+		long[] keys = new long[endpointAmount];
+		int live = 0;
+		for (int i = 0; i < endpointAmount; i++)
+			if (owners[i] != null)
+				keys[live++] = ((long) values[i] << 32) | (rightEdges[i] ? 0 : 1L << 31) | i;
+		Arrays.sort(keys, 0, live);
+
+		int[] sortedValues = new int[values.length];
+		boolean[] sortedRightEdges = new boolean[values.length];
+		CollisionComponent[] sortedOwners = new CollisionComponent[values.length];
+
+		for (int i = 0; i < live; i++) {
+			int index = (int) (keys[i] & Integer.MAX_VALUE);
+			sortedValues[i] = values[index];
+			sortedRightEdges[i] = rightEdges[index];
+			sortedOwners[i] = owners[index];
+		}
+
+		values = sortedValues;
+		rightEdges = sortedRightEdges;
+		owners = sortedOwners;
+		endpointAmount = live;
+		removedEndpoints = 0;
+
+		for (int i = 0; i < live; i++) {
+			setEndpoint(i);
+			owners[i].overlaps.clear();
+		}
+
+		// sweep: every left edge overlaps the entities whose left edge came before it
+		// and whose right edge hasn't yet
+		CollisionComponent[] active = new CollisionComponent[Math.max(size, 1)];
+		int activeAmount = 0;
+
+		for (int i = 0; i < live; i++) {
+			CollisionComponent owner = owners[i];
+
+			if (!rightEdges[i]) {
+				for (int j = 0; j < activeAmount; j++)
+					addOverlap(owner, active[j]);
+				owner.activeIndex = activeAmount;
+				active[activeAmount++] = owner;
+			} else {
+				CollisionComponent last = active[--activeAmount];
+				active[owner.activeIndex] = last;
+				last.activeIndex = owner.activeIndex;
+				active[activeAmount] = null;
+			}
+		}
+
+		dirty = false;
+	}
+
+	private void grow(int capacity) {
+		values = Arrays.copyOf(values, capacity);
+		rightEdges = Arrays.copyOf(rightEdges, capacity);
+		owners = Arrays.copyOf(owners, capacity);
+	}
+
+	@Override
+	public String toString() {
+		return "SweepAndPrune [size=" + size + ", " + statistics + "]";
+	}
+}
@@ -4,6 +4,8 @@ import jGame.core.entity.Entity;
 
 /**
  * Data component holding various data about an entity's dimensions and positions, etc...
+ * While its entity is kept in the {@link PackedStorage}, this component is a view
+ * over the entity's row there.
  * 
  * @author Nuno Pereira
  * @since 2.0.0
@@ -13,6 +15,9 @@ public class TransformComponent extends Component {
 
 	private int x, y, startingX, startingY, width, height;
 	
+	// position at the start of the current tick, used to interpolate between ticks when rendering
+	private int previousX, previousY;
+	
 	/**
 	 * Creates a movement component attached to this entity.
 	 * 
@@ -33,7 +38,7 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public int getX() {
-		return x;
+		return packedRow < 0 ? x : PackedStorage.x[packedRow];
 	}
 
 	/**
@@ -43,7 +48,11 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void setX(int x) {
-		this.x = x;
+		if (packedRow < 0)
+			this.x = x;
+		else
+			PackedStorage.x[packedRow] = x;
+		this.entity.wake();
 	}
 
 	/**
@@ -53,7 +62,7 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public int getY() {
-		return y;
+		return packedRow < 0 ? y : PackedStorage.y[packedRow];
 	}
 
 	/**
@@ -63,7 +72,11 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void setY(int y) {
-		this.y = y;
+		if (packedRow < 0)
+			this.y = y;
+		else
+			PackedStorage.y[packedRow] = y;
+		this.entity.wake();
 	}
 
 	/**
@@ -73,7 +86,7 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public int getStartingX() {
-		return startingX;
+		return packedRow < 0 ? startingX : PackedStorage.startingX[packedRow];
 	}
 
 	/**
@@ -83,7 +96,10 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void setStartingX(int startingX) {
-		this.startingX = startingX;
+		if (packedRow < 0)
+			this.startingX = startingX;
+		else
+			PackedStorage.startingX[packedRow] = startingX;
 	}
 
 	/**
@@ -93,7 +109,7 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public int getStartingY() {
-		return startingY;
+		return packedRow < 0 ? startingY : PackedStorage.startingY[packedRow];
 	}
 
 	/**
@@ -103,7 +119,7 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public int getWidth() {
-		return width;
+		return packedRow < 0 ? width : PackedStorage.width[packedRow];
 	}
 
 	/**
@@ -113,7 +129,10 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void setWidth(int width) {
-		this.width = width;
+		if (packedRow < 0)
+			this.width = width;
+		else
+			PackedStorage.width[packedRow] = width;
 	}
 
 	/**
@@ -123,7 +142,7 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public int getHeight() {
-		return height;
+		return packedRow < 0 ? height : PackedStorage.height[packedRow];
 	}
 
 	/**
@@ -133,7 +152,10 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void setHeight(int height) {
-		this.height = height;
+		if (packedRow < 0)
+			this.height = height;
+		else
+			PackedStorage.height[packedRow] = height;
 	}
 
 	/**
@@ -143,7 +165,10 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void setStartingY(int startingY) {
-		this.startingY = startingY;
+		if (packedRow < 0)
+			this.startingY = startingY;
+		else
+			PackedStorage.startingY[packedRow] = startingY;
 	}
 	
 	/**
@@ -152,7 +177,7 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void resetX() {
-		this.x = this.startingX;
+		this.setX(this.getStartingX());
 	}
 	
 	/**
@@ -161,7 +186,7 @@ public class TransformComponent extends Component {
 	 * @since 2.0.0
 	 */
 	public void resetY() {
-		this.y = this.startingY;
+		this.setY(this.getStartingY());
 	}
 	
 	/**
@@ -178,6 +203,110 @@ public class TransformComponent extends Component {
 	public void resetPosition() {
 		this.resetX();
 		this.resetY();
+		this.storePreviousPosition();
+	}
+	
+	/**
+	 * Puts this component's entity back at its starting position, as if it had just
+	 * been created there, moving its collision bounds along with it.
+	 * 
+	 * @see #resetPosition()
+	 * @since 2.1.0
+	 */
+	public void restart() {
+		this.resetPosition();
+		this.entity.getComponent(CollisionComponent.class).moveBounds(this.getX(), this.getY());
+	}
+	
+	/**
+	 * Stores the current position of this component's entity as the position it
+	 * had on the previous tick. Called by the {@link jGame.core.entity.EntityManager}
+	 * before each tick.
+	 * 
+	 * @since 2.1.0
+	 */
+	public void storePreviousPosition() {
+		if (packedRow < 0) {
+			this.previousX = this.x;
+			this.previousY = this.y;
+		} else {
+			PackedStorage.previousX[packedRow] = PackedStorage.x[packedRow];
+			PackedStorage.previousY[packedRow] = PackedStorage.y[packedRow];
+		}
+	}
+	
+	/**
+	 * Returns this component's entity's x position at the start of the current
+	 * tick.
+	 * 
+	 * @return the x position this component's entity had on the previous tick
+	 * @since 2.1.0
+	 */
+	public int getPreviousX() {
+		return packedRow < 0 ? previousX : PackedStorage.previousX[packedRow];
+	}
+	
+	/**
+	 * Returns this component's entity's y position at the start of the current
+	 * tick.
+	 * 
+	 * @return the y position this component's entity had on the previous tick
+	 * @since 2.1.0
+	 */
+	public int getPreviousY() {
+		return packedRow < 0 ? previousY : PackedStorage.previousY[packedRow];
+	}
+	
+	/**
+	 * Returns this component's entity's x position interpolated between the
+	 * previous and the current tick.
+	 * 
+	 * @param alpha how far between the previous and the current tick we are, from
+	 *              {@code 0} to {@code 1}
+	 * @return the interpolated x position of this component's entity
+	 * @since 2.1.0
+	 */
+	public int getInterpolatedX(double alpha) {
+		int previousX = this.getPreviousX();
+		return (int) Math.round(previousX + (this.getX() - previousX) * alpha);
+	}
+	
+	/**
+	 * Returns this component's entity's y position interpolated between the
+	 * previous and the current tick.
+	 * 
+	 * @param alpha how far between the previous and the current tick we are, from
+	 *              {@code 0} to {@code 1}
+	 * @return the interpolated y position of this component's entity
+	 * @since 2.1.0
+	 */
+	public int getInterpolatedY(double alpha) {
+		int previousY = this.getPreviousY();
+		return (int) Math.round(previousY + (this.getY() - previousY) * alpha);
+	}
+
+	// copies this component's fields into the given packed storage row
+	void copyTo(int row) {
+		PackedStorage.x[row] = x;
+		PackedStorage.y[row] = y;
+		PackedStorage.previousX[row] = previousX;
+		PackedStorage.previousY[row] = previousY;
+		PackedStorage.startingX[row] = startingX;
+		PackedStorage.startingY[row] = startingY;
+		PackedStorage.width[row] = width;
+		PackedStorage.height[row] = height;
+	}
+
+	// copies the given packed storage row back into this component's fields
+	void copyFrom(int row) {
+		x = PackedStorage.x[row];
+		y = PackedStorage.y[row];
+		previousX = PackedStorage.previousX[row];
+		previousY = PackedStorage.previousY[row];
+		startingX = PackedStorage.startingX[row];
+		startingY = PackedStorage.startingY[row];
+		width = PackedStorage.width[row];
+		height = PackedStorage.height[row];
 	}
 
 	@Override
@@ -194,6 +323,6 @@ public class TransformComponent extends Component {
 
 	@Override
 	public String toString() {
-		return "TransformComponent [x=" + x + ", y=" + y + "]";
+		return "TransformComponent [x=" + getX() + ", y=" + getY() + "]";
 	}
 }
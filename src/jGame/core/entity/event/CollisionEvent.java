@@ -4,6 +4,8 @@ import java.awt.Point;
 import java.util.Objects;
 
 import jGame.core.entity.Entity;
+import jGame.core.entity.component.CollisionComponent;
+import jGame.core.entity.component.CollisionLayers;
 
 /**
  * A collision event created when a colision happens between any 2 entities or
@@ -32,6 +34,8 @@ public class CollisionEvent {
 	private int collisionX, collisionY;
 	private Point collisionPoint;
 	private CollisionType COLLISION_TYPE;
+	private double timeOfImpact;
+	private int contactX, contactY;
 	
 	/**
 	 * Instantiates a new <code>CollisionEvent</code> with the given parameters.
@@ -39,21 +43,92 @@ public class CollisionEvent {
 	 * @param source        the source of the collision event (must be an entity)
 	 * @param target        the target of the collision event (can be {@code null},
 	 *                      representing the walls)
-	 * @param eventText     the text associated with this collision
+	 * @param eventText     the text associated with this collision, or
+	 *                      {@code null} to build it from the target when first
+	 *                      asked for
 	 * @param x             the x location where the collision happened
 	 * @param y             the y location where the collision happened
 	 * @param collisionType the type of collision that happened
 	 * @since 1.0.0
 	 */
 	public CollisionEvent(Entity source, Entity target, String eventText, int x, int y, CollisionType collisionType) {
+		this(source, target, eventText, x, y, collisionType, 1, x, y);
+	}
+
+	/**
+	 * Instantiates a new <code>CollisionEvent</code> for a collision found by
+	 * sweeping the bounds of the entities involved along their last move.
+	 * 
+	 * @param source        the source of the collision event (must be an entity)
+	 * @param target        the target of the collision event (can be {@code null},
+	 *                      representing the walls)
+	 * @param eventText     the text associated with this collision, or
+	 *                      {@code null} to build it from the target when first
+	 *                      asked for
+	 * @param x             the x location of the source when the collision
+	 *                      happened
+	 * @param y             the y location of the source when the collision
+	 *                      happened
+	 * @param collisionType the type of collision that happened
+	 * @param timeOfImpact  how far along their last move the entities first
+	 *                      touched, from {@code 0} to {@code 1}
+	 * @param contactX      the x location where the entities touched
+	 * @param contactY      the y location where the entities touched
+	 * @throws IllegalArgumentException if {@code timeOfImpact} isn't between
+	 *                                  {@code 0} and {@code 1}
+	 * @since 2.1.0
+	 */
+	public CollisionEvent(Entity source, Entity target, String eventText, int x, int y, CollisionType collisionType,
+			double timeOfImpact, int contactX, int contactY) throws IllegalArgumentException {
 		super();
+		this.set(source, target, eventText, x, y, collisionType, timeOfImpact, contactX, contactY);
+	}
+
+	/**
+	 * Turns this event into a new one, with the same parameters as
+	 * {@link #CollisionEvent(Entity, Entity, String, int, int, CollisionType, double, int, int)},
+	 * so events can be reused instead of allocated for every collision. This
+	 * method is only intended to be used by collision components, for events
+	 * already delivered to every listener.
+	 * 
+	 * @param source        the source of the collision event (must be an entity)
+	 * @param target        the target of the collision event (can be {@code null},
+	 *                      representing the walls)
+	 * @param eventText     the text associated with this collision, or
+	 *                      {@code null} to build it from the target when first
+	 *                      asked for
+	 * @param x             the x location of the source when the collision
+	 *                      happened
+	 * @param y             the y location of the source when the collision
+	 *                      happened
+	 * @param collisionType the type of collision that happened
+	 * @param timeOfImpact  how far along their last move the entities first
+	 *                      touched, from {@code 0} to {@code 1}
+	 * @param contactX      the x location where the entities touched
+	 * @param contactY      the y location where the entities touched
+	 * @return this event
+	 * @throws IllegalArgumentException if {@code timeOfImpact} isn't between
+	 *                                  {@code 0} and {@code 1}
+	 * @see jGame.core.entity.EntityManager#setCollisionEventReuse(boolean)
+	 * @since 2.1.0
+	 */
+	public CollisionEvent set(Entity source, Entity target, String eventText, int x, int y,
+			CollisionType collisionType, double timeOfImpact, int contactX, int contactY)
+			throws IllegalArgumentException {
+		if (!(timeOfImpact >= 0 && timeOfImpact <= 1))
+			throw new IllegalArgumentException("Time of impact must be between 0 and 1, got " + timeOfImpact);
+
 		this.source = Objects.requireNonNull(source);
 		this.target = target;
 		this.eventText = eventText;
 		this.collisionX = x;
 		this.collisionY = y;
-		this.collisionPoint = new Point(this.collisionX, this.collisionY);
+		this.collisionPoint = null; // created when first asked for
 		this.COLLISION_TYPE = collisionType;
+		this.timeOfImpact = timeOfImpact;
+		this.contactX = contactX;
+		this.contactY = contactY;
+		return this;
 	}
 
 	/**
@@ -83,6 +158,8 @@ public class CollisionEvent {
 	 * @since 1.0.0
 	 */
 	public String getEventText() {
+		if (eventText == null && target != null)
+			eventText = target.toString() + " hit";
 		return eventText;
 	}
 
@@ -112,9 +189,83 @@ public class CollisionEvent {
 	 * @return the point where this event happenedS
 	 */
 	public Point getCollisionPoint() {
+		if (collisionPoint == null)
+			collisionPoint = new Point(collisionX, collisionY);
 		return collisionPoint;
 	}
 
+	/**
+	 * Returns how far along their last move the entities involved first touched,
+	 * from {@code 0}, where the move started, to {@code 1}, where it ended.
+	 * Collisions found without sweeping the entities' bounds happen where the
+	 * move ended, at {@code 1}.
+	 * 
+	 * @return the time of impact of this collision
+	 * @see jGame.core.entity.component.CollisionComponent#setContinuous(boolean)
+	 * @since 2.1.0
+	 */
+	public double getTimeOfImpact() {
+		return timeOfImpact;
+	}
+
+	/**
+	 * Returns the x position where the entities involved touched, the middle of
+	 * the region their bounds shared at the time of impact.
+	 * 
+	 * @return the x position of the contact point
+	 * @since 2.1.0
+	 */
+	public int getContactX() {
+		return contactX;
+	}
+
+	/**
+	 * Returns the y position where the entities involved touched, the middle of
+	 * the region their bounds shared at the time of impact.
+	 * 
+	 * @return the y position of the contact point
+	 * @since 2.1.0
+	 */
+	public int getContactY() {
+		return contactY;
+	}
+
+	/**
+	 * Returns the point where the entities involved touched.
+	 * 
+	 * @return a new point at the contact point
+	 * @see #getContactX()
+	 * @see #getContactY()
+	 * @since 2.1.0
+	 */
+	public Point getContactPoint() {
+		return new Point(contactX, contactY);
+	}
+
+	/**
+	 * Returns the collision layer the source of this event is in.
+	 * 
+	 * @return the layer of the source
+	 * @see CollisionComponent#getCollisionLayer()
+	 * @since 2.1.0
+	 */
+	public int getSourceLayer() {
+		return source.getComponent(CollisionComponent.class).getCollisionLayer();
+	}
+
+	/**
+	 * Returns the collision layer the target of this event is in, which is
+	 * {@link CollisionLayers#WALL} for {@link CollisionType#ENTITY_WALL}
+	 * collisions.
+	 * 
+	 * @return the layer of the target
+	 * @see CollisionComponent#getCollisionLayer()
+	 * @since 2.1.0
+	 */
+	public int getTargetLayer() {
+		return target == null ? CollisionLayers.WALL : target.getComponent(CollisionComponent.class).getCollisionLayer();
+	}
+
 	/**
 	 * Returns the type of collision represented by this event.
 	 * 
@@ -127,8 +278,9 @@ public class CollisionEvent {
 	@Override
 	public String toString() {
 		return "CollisionEvent [source=" + source + ", target=" + Objects.requireNonNullElse(target, "window walls")
-				+ ", eventText=" + eventText + ", collisionX="
-				+ collisionX + ", collisionY=" + collisionY + ", collisionPoint=" + collisionPoint + ", COLLISION_TYPE="
-				+ COLLISION_TYPE + "]";
+				+ ", eventText=" + getEventText() + ", collisionX="
+				+ collisionX + ", collisionY=" + collisionY + ", collisionPoint=" + getCollisionPoint() + ", COLLISION_TYPE="
+				+ COLLISION_TYPE + ", timeOfImpact=" + timeOfImpact + ", contactX=" + contactX + ", contactY="
+				+ contactY + "]";
 	}
 }
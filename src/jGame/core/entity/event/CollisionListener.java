@@ -3,6 +3,8 @@ package jGame.core.entity.event;
 /**
  * Listener used to process collision events made when a collision happens. It
  * is up to the client to register listeners in objects for event processing.
+ * Listeners only interested in when collisions start and end should be
+ * {@link ContactListener}s instead.
  * 
  * @author Nuno Pereira
  * @since 1.0.0
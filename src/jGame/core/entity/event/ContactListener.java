@@ -0,0 +1,62 @@
+package jGame.core.entity.event;
+
+import jGame.core.entity.Entity;
+
+/**
+ * Listener told when its entity starts touching another entity or the walls,
+ * while it keeps touching them and when it stops. A {@link CollisionListener} is
+ * told of every collision on every tick for as long as the entities overlap, so
+ * this saves listeners from keeping track of their contacts themselves: the
+ * collision system keeps, between ticks, what every entity with contact
+ * listeners is touching. <br>
+ * <br>
+ * Every method does nothing by default, so listeners only implement those they
+ * care about. {@link #onContactStay(CollisionEvent)} is only called on listeners
+ * that implement it, so those only interested in contacts starting and ending
+ * cost nothing while they last. <br>
+ * <br>
+ * Contacts are told of when the entity is ticked, along with its collisions, so
+ * the events received follow the same rules as those given to
+ * {@link CollisionListener#onCollision(CollisionEvent)}.
+ *
+ * @see Entity#addContactListener(ContactListener)
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public interface ContactListener {
+
+	/**
+	 * Called when the entity starts touching another entity or the walls, with
+	 * the first collision between them.
+	 *
+	 * @param contact the collision that started the contact
+	 * @since 2.1.0
+	 */
+	public default void onContactEnter(CollisionEvent contact) {
+		return;
+	}
+
+	/**
+	 * Called on every tick after the first that the entity keeps touching another
+	 * entity or the walls, with the collision between them on that tick.
+	 *
+	 * @param contact the collision that kept the contact going
+	 * @since 2.1.0
+	 */
+	public default void onContactStay(CollisionEvent contact) {
+		return;
+	}
+
+	/**
+	 * Called on the first tick the entity no longer touches an entity or the
+	 * walls it touched on its previous tick. Also called for every contact when
+	 * the entity's collisions are disallowed.
+	 *
+	 * @param entity the entity the listener is registered on
+	 * @param other  the entity no longer touched, or {@code null} for the walls
+	 * @since 2.1.0
+	 */
+	public default void onContactExit(Entity entity, Entity other) {
+		return;
+	}
+}
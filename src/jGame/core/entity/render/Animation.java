@@ -6,6 +6,8 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
+import jGame.core.launcher.QualityController;
+
 /**
  * Class responsible for performing animations on entity sprites: rolling
  * through a series of images, thus creating the illusion of animation.
@@ -24,6 +26,9 @@ public class Animation {
 	// a static list of animation tasks that holds all tasks for all animations
 	private static List<Runnable> animationTasks = new LinkedList<Runnable>();
 
+	// how long each animation frame is shown for at full quality
+	private static final long FRAME_DELAY = 200;
+
 	// the thread responsible for animating sprites
 	private static Thread animatorThread = new Thread() {
 
@@ -37,7 +42,8 @@ public class Animation {
 			while (true) {
 				animationTasks.forEach((task) -> { task.run(); });
 				try {
-					Thread.sleep(200);
+					// lower quality tiers animate less often
+					Thread.sleep((long) (FRAME_DELAY / QualityController.getTier().getAnimationRate()));
 				} catch (InterruptedException e) {
 					e.printStackTrace();
 				}
@@ -0,0 +1,168 @@
+package jGame.core.input;
+
+import java.awt.Canvas;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import jGame.core.launcher.GameLauncher;
+import jGame.core.launcher.JobSystem;
+import jGame.logging.ProgramLogger;
+
+/**
+ * Records the input of a play session to a file, so it can later be replayed
+ * with an {@link InputReplay}. Every key event received by the main window's
+ * canvas and every action performed through
+ * {@link jGame.core.ui.Window#addAction(javax.swing.Action, javax.swing.KeyStroke, String)}
+ * is stamped with the tick it takes effect on, counted from the moment the
+ * recording started. <br>
+ * <br>
+ * Input arrives on the AWT Event Thread between ticks, so each event is
+ * stamped with the tick that follows it. A replay delivers it right before that
+ * tick runs.
+ *
+ * @see InputReplay
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class InputRecorder {
+
+	private static DataOutputStream output = null;
+	private static Canvas recordedCanvas = null;
+
+	private static long startTick = 0, lastTick = 0;
+	private static int recordedEvents = 0;
+
+	private static final KeyListener KEY_RECORDER = new KeyListener() {
+
+		@Override
+		public void keyPressed(KeyEvent e) {
+			recordKey(RecordedInput.KEY_PRESSED, e);
+		}
+
+		@Override
+		public void keyReleased(KeyEvent e) {
+			recordKey(RecordedInput.KEY_RELEASED, e);
+		}
+
+		@Override
+		public void keyTyped(KeyEvent e) {
+			recordKey(RecordedInput.KEY_TYPED, e);
+		}
+	};
+
+	// static class, can't instantiate
+	private InputRecorder() {
+	}
+
+	/**
+	 * Starts recording the input of the main window to the given file, replacing
+	 * its contents.
+	 *
+	 * @param file the file to record to
+	 * @throws IOException           if the file can't be written
+	 * @throws IllegalStateException if a recording is already in progress
+	 * @since 2.1.0
+	 */
+	public static synchronized void start(File file) throws IOException, IllegalStateException {
+
+		if (output != null)
+			throw new IllegalStateException("Already recording input");
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+
+		try {
+			out.writeInt(RecordedInput.MAGIC);
+			out.writeShort(RecordedInput.VERSION);
+			out.writeDouble(GameLauncher.getTickRate());
+		} catch (IOException e) {
+			out.close();
+			throw e;
+		}
+
+		output = out;
+		startTick = JobSystem.getTick();
+		lastTick = 0;
+		recordedEvents = 0;
+
+		recordedCanvas = GameLauncher.getMainWindow().getWindowCanvas();
+		recordedCanvas.addKeyListener(KEY_RECORDER);
+
+		ProgramLogger.writeLog("Recording input to " + file);
+	}
+
+	/**
+	 * Stops the recording in progress, if any, and closes its file.
+	 *
+	 * @since 2.1.0
+	 */
+	public static synchronized void stop() {
+
+		if (output == null)
+			return;
+
+		recordedCanvas.removeKeyListener(KEY_RECORDER);
+		recordedCanvas = null;
+
+		long length = Math.max(currentTick(), lastTick);
+
+		try {
+			output.writeByte(RecordedInput.END);
+			RecordedInput.writeVarLong(output, length - lastTick);
+			output.close();
+			ProgramLogger.writeLog("Recorded " + recordedEvents + " input events over " + length + " ticks");
+		} catch (IOException e) {
+			ProgramLogger.writeErrorLog(e, "Error finishing input recording");
+		} finally {
+			output = null;
+		}
+	}
+
+	/**
+	 * Returns weather input is being recorded.
+	 *
+	 * @return {@code true} if a recording is in progress, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public static synchronized boolean isRecording() {
+		return output != null;
+	}
+
+	/**
+	 * Records that the action bound under the given key was performed. Does
+	 * nothing if no recording is in progress.
+	 *
+	 * @param actionKey the string denoting the action
+	 * @since 2.1.0
+	 */
+	public static synchronized void recordAction(String actionKey) {
+		if (output != null)
+			write(RecordedInput.action(currentTick(), actionKey));
+	}
+
+	private static synchronized void recordKey(byte type, KeyEvent e) {
+		if (output != null)
+			write(RecordedInput.key(type, currentTick(), e.getKeyCode(), e.getKeyChar(), e.getModifiersEx(),
+					e.getKeyLocation()));
+	}
+
+	// the tick, relative to the start of the recording, the next input takes effect on
+	private static long currentTick() {
+		return JobSystem.getTick() + 1 - startTick;
+	}
+
+	private static void write(RecordedInput input) {
+		try {
+			input.write(output, lastTick);
+			lastTick = input.tick;
+			recordedEvents++;
+		} catch (IOException e) {
+			ProgramLogger.writeErrorLog(e, "Error recording input, stopping recording");
+			stop();
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package jGame.core.input;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jGame.core.entity.Entity;
+import jGame.core.entity.EntityManager;
+import jGame.core.launcher.GameLauncher;
+import jGame.core.launcher.JobSystem;
+import jGame.core.launcher.WorldBounds;
+import jGame.logging.ProgramLogger;
+
+/**
+ * Replays input recorded by the {@link InputRecorder}. Recorded events are
+ * delivered on the game thread, right before the tick they were stamped with,
+ * through the same listeners live input goes through. <br>
+ * <br>
+ * When running in a window, key events are delivered to every key listener of
+ * the main window's canvas and actions are performed through
+ * {@link jGame.core.ui.Window#performAction(String)}. When running headless,
+ * key events are delivered to the input listener of every entity, set up if
+ * missing, and actions are skipped, since there is no window to bind them.
+ * <br>
+ * <br>
+ * The replay runs at whatever rate the game is ticked: in a window this is the
+ * game's tick rate, while a {@link jGame.core.launcher.HeadlessLauncher} runs it
+ * as fast as possible unless given a tick rate, such as
+ * {@link #getTickRate()}.
+ *
+ * @see InputRecorder
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public class InputReplay {
+
+	private final List<RecordedInput> events;
+	private final double tickRate;
+	private final long length;
+
+	private int nextEvent = 0;
+	private long startTick = -1;
+	private volatile boolean finished = false;
+
+	// the source of the key events delivered when running headless
+	private Component headlessSource = null;
+	private boolean warnedAboutActions = false;
+
+	private InputReplay(List<RecordedInput> events, double tickRate, long length) {
+		this.events = events;
+		this.tickRate = tickRate;
+		this.length = length;
+	}
+
+	/**
+	 * Loads a recording from the given file.
+	 *
+	 * @param file the file holding the recording
+	 * @return the loaded replay, ready to be started
+	 * @throws IOException if the file can't be read or isn't a valid recording
+	 * @since 2.1.0
+	 */
+	public static InputReplay load(File file) throws IOException {
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+
+			if (in.readInt() != RecordedInput.MAGIC)
+				throw new IOException(file + " is not an input recording");
+
+			short version = in.readShort();
+			if (version != RecordedInput.VERSION)
+				throw new IOException("Unsupported input recording version: " + version);
+
+			double tickRate = in.readDouble();
+
+			ArrayList<RecordedInput> events = new ArrayList<RecordedInput>();
+			long lastTick = 0;
+
+			byte type;
+			while ((type = in.readByte()) != RecordedInput.END) {
+				RecordedInput input = RecordedInput.read(in, type, lastTick);
+				events.add(input);
+				lastTick = input.tick;
+			}
+
+			long length = lastTick + RecordedInput.readVarLong(in);
+
+			ProgramLogger.writeLog("Loaded " + events.size() + " input events over " + length + " ticks from " + file);
+
+			return new InputReplay(events, tickRate, length);
+		}
+	}
+
+	/**
+	 * Starts replaying the recording, delivering its first events right before
+	 * the next tick.
+	 *
+	 * @throws IllegalStateException if this replay has already been started
+	 * @since 2.1.0
+	 */
+	public synchronized void start() throws IllegalStateException {
+
+		if (startTick >= 0)
+			throw new IllegalStateException("Replay already started");
+
+		startTick = JobSystem.getTick();
+		finished = events.isEmpty();
+
+		if (!finished)
+			JobSystem.runOnGameThread(this::deliverDueEvents);
+	}
+
+	/**
+	 * Stops delivering the events of this replay.
+	 *
+	 * @since 2.1.0
+	 */
+	public void stop() {
+		finished = true;
+	}
+
+	/**
+	 * Returns weather every event of this replay has been delivered, or the
+	 * replay was stopped.
+	 *
+	 * @return {@code true} if this replay is finished, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Returns the tick rate the game was running at when the recording was made.
+	 *
+	 * @return the tick rate of the recording
+	 * @since 2.1.0
+	 */
+	public double getTickRate() {
+		return tickRate;
+	}
+
+	/**
+	 * Returns the number of ticks the recording lasted.
+	 *
+	 * @return the length of the recording, in ticks
+	 * @since 2.1.0
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns the number of events in the recording.
+	 *
+	 * @return the number of recorded events
+	 * @since 2.1.0
+	 */
+	public int getEventAmount() {
+		return events.size();
+	}
+
+	// runs on the game thread at the start of every tick until every event is delivered
+	private void deliverDueEvents() {
+
+		if (finished)
+			return;
+
+		long tick = JobSystem.getTick() - startTick;
+
+		while (nextEvent < events.size() && events.get(nextEvent).tick <= tick)
+			deliver(events.get(nextEvent++));
+
+		if (nextEvent < events.size())
+			JobSystem.runOnGameThread(this::deliverDueEvents);
+		else
+			finished = true;
+	}
+
+	private void deliver(RecordedInput input) {
+
+		if (input.type == RecordedInput.ACTION) {
+			if (!WorldBounds.isHeadless()) {
+				GameLauncher.getMainWindow().performAction(input.actionKey);
+			} else if (!warnedAboutActions) {
+				ProgramLogger.writeLog("Skipping recorded actions, there is no window to perform them on");
+				warnedAboutActions = true;
+			}
+			return;
+		}
+
+		Component source;
+		KeyListener[] listeners;
+
+		if (WorldBounds.isHeadless()) {
+			if (headlessSource == null)
+				headlessSource = new Canvas();
+			source = headlessSource;
+
+			List<Entity> entities = EntityManager.getEntities();
+			ArrayList<KeyListener> entityListeners = new ArrayList<KeyListener>(entities.size());
+			for (Entity entity : entities) {
+				// entities added without registering their listeners get one set up, as in a window
+				if (entity.inputListener == null)
+					entity.registerInputListener();
+				if (entity.inputListener != null)
+					entityListeners.add(entity.inputListener);
+			}
+			listeners = entityListeners.toArray(new KeyListener[entityListeners.size()]);
+		} else {
+			source = GameLauncher.getMainWindow().getWindowCanvas();
+			listeners = source.getKeyListeners();
+		}
+
+		int id = input.type == RecordedInput.KEY_PRESSED ? KeyEvent.KEY_PRESSED
+				: input.type == RecordedInput.KEY_RELEASED ? KeyEvent.KEY_RELEASED : KeyEvent.KEY_TYPED;
+
+		KeyEvent event = new KeyEvent(source, id, System.currentTimeMillis(), input.modifiers, input.keyCode,
+				input.keyChar, input.keyLocation);
+
+		for (KeyListener listener : listeners) {
+			switch (id) {
+			case KeyEvent.KEY_PRESSED:
+				listener.keyPressed(event);
+				break;
+			case KeyEvent.KEY_RELEASED:
+				listener.keyReleased(event);
+				break;
+			default:
+				listener.keyTyped(event);
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package jGame.core.input;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * A single input event of a recording, stamped with the tick it must be
+ * delivered on. Also holds the binary format recordings are stored in.
+ * <br>
+ * <br>
+ * A recording starts with a header made of {@link #MAGIC}, {@link #VERSION}
+ * and the tick rate the game was running at. It is followed by the events, each
+ * one being a type byte, the number of ticks since the previous event and the
+ * event's data, and ends with an {@link #END} byte followed by the number of
+ * ticks the recording lasted. Numbers that are usually small are stored as
+ * variable length integers.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+final class RecordedInput {
+
+	static final int MAGIC = 0x4A47494E; // "JGIN"
+	static final short VERSION = 1;
+
+	static final byte KEY_PRESSED = 0, KEY_RELEASED = 1, KEY_TYPED = 2, ACTION = 3, END = -1;
+
+	final byte type;
+	final long tick;
+
+	// key event data
+	final int keyCode, modifiers, keyLocation;
+	final char keyChar;
+
+	// action data
+	final String actionKey;
+
+	private RecordedInput(byte type, long tick, int keyCode, char keyChar, int modifiers, int keyLocation,
+			String actionKey) {
+		this.type = type;
+		this.tick = tick;
+		this.keyCode = keyCode;
+		this.keyChar = keyChar;
+		this.modifiers = modifiers;
+		this.keyLocation = keyLocation;
+		this.actionKey = actionKey;
+	}
+
+	static RecordedInput key(byte type, long tick, int keyCode, char keyChar, int modifiers, int keyLocation) {
+		return new RecordedInput(type, tick, keyCode, keyChar, modifiers, keyLocation, null);
+	}
+
+	static RecordedInput action(long tick, String actionKey) {
+		return new RecordedInput(ACTION, tick, 0, '\0', 0, 0, actionKey);
+	}
+
+	/**
+	 * Writes this event to the given stream.
+	 *
+	 * @param out          the stream to write to
+	 * @param previousTick the tick of the previously written event
+	 * @throws IOException if an I/O error occurs
+	 * @since 2.1.0
+	 */
+	void write(DataOutputStream out, long previousTick) throws IOException {
+		out.writeByte(type);
+		writeVarLong(out, tick - previousTick);
+
+		if (type == ACTION) {
+			out.writeUTF(actionKey);
+		} else {
+			writeVarLong(out, keyCode);
+			out.writeChar(keyChar);
+			writeVarLong(out, modifiers);
+			out.writeByte(keyLocation);
+		}
+	}
+
+	/**
+	 * Reads the next event from the given stream.
+	 *
+	 * @param in           the stream to read from
+	 * @param type         the type byte already read from the stream
+	 * @param previousTick the tick of the previously read event
+	 * @return the event read
+	 * @throws IOException if an I/O error occurs or the stream is malformed
+	 * @since 2.1.0
+	 */
+	static RecordedInput read(DataInputStream in, byte type, long previousTick) throws IOException {
+
+		long tick = previousTick + readVarLong(in);
+
+		switch (type) {
+		case ACTION:
+			return action(tick, in.readUTF());
+		case KEY_PRESSED:
+		case KEY_RELEASED:
+		case KEY_TYPED:
+			int keyCode = (int) readVarLong(in);
+			char keyChar = in.readChar();
+			int modifiers = (int) readVarLong(in);
+			int keyLocation = in.readByte();
+			return key(type, tick, keyCode, keyChar, modifiers, keyLocation);
+		default:
+			throw new IOException("Unknown input event type: " + type);
+		}
+	}
+
+	static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	static long readVarLong(DataInputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.read();
+			if (b < 0)
+				throw new EOFException("Truncated input recording");
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed input recording");
+	}
+}
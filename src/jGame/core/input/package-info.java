@@ -0,0 +1,8 @@
+/**
+ * Package containing classes used to record the input of a play session and
+ * replay it tick by tick.
+ * 
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+package jGame.core.input;
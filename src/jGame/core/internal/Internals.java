@@ -0,0 +1,57 @@
+package jGame.core.internal;
+
+import jGame.core.entity.component.PackedStorage;
+
+/**
+ * Holds the hooks registered by the engine's packages, so other packages can
+ * reach internals that aren't public.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class Internals {
+
+	private static volatile PackedRows packedRows = null;
+
+	// static class, can't instantiate
+	private Internals() {
+	}
+
+	/**
+	 * Registers the hook managing the packed storage's rows. Called once, by the
+	 * packed storage itself.
+	 *
+	 * @param packedRows the hook to register
+	 * @throws IllegalStateException if a hook is already registered
+	 * @since 2.1.0
+	 */
+	public static synchronized void setPackedRows(PackedRows packedRows) throws IllegalStateException {
+		if (Internals.packedRows != null)
+			throw new IllegalStateException("Packed rows hook already registered");
+		Internals.packedRows = packedRows;
+	}
+
+	/**
+	 * Returns the hook managing the packed storage's rows.
+	 *
+	 * @return the packed rows hook
+	 * @since 2.1.0
+	 */
+	public static PackedRows packedRows() {
+		PackedRows rows = packedRows;
+		if (rows == null) {
+			// the packed storage registers its hook when it is initialized
+			initialize(PackedStorage.class);
+			rows = packedRows;
+		}
+		return rows;
+	}
+
+	private static void initialize(Class<?> clazz) {
+		try {
+			Class.forName(clazz.getName(), true, clazz.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
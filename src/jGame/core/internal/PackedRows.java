@@ -0,0 +1,51 @@
+package jGame.core.internal;
+
+import jGame.core.entity.Entity;
+
+/**
+ * Manages the rows of the {@link jGame.core.entity.component.PackedStorage},
+ * which must always match the entities in the game. Only the entity store may
+ * use it.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public interface PackedRows {
+
+	/**
+	 * Appends a row for the given entity, copying its current data into it.
+	 * From then on the entity's components work on the row.
+	 *
+	 * @param entity the entity to store
+	 * @return the row given to the entity
+	 * @since 2.1.0
+	 */
+	public int attach(Entity entity);
+
+	/**
+	 * Copies the data of the given row back into its entity's components, which
+	 * stop using the row. The row itself is left in place, to be overwritten or
+	 * truncated.
+	 *
+	 * @param row the row to release
+	 * @since 2.1.0
+	 */
+	public void detach(int row);
+
+	/**
+	 * Moves the data of a row to another row, overwriting it.
+	 *
+	 * @param from the row to move
+	 * @param to   the row to move it to
+	 * @since 2.1.0
+	 */
+	public void move(int from, int to);
+
+	/**
+	 * Drops every row from {@code size} onwards.
+	 *
+	 * @param size the new number of rows
+	 * @since 2.1.0
+	 */
+	public void truncate(int size);
+}
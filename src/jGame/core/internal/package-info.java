@@ -0,0 +1,8 @@
+/**
+ * Hooks the engine's packages use to reach each other's internals. This
+ * package isn't exported by the module, so none of it is part of the API.
+ * 
+ * @since 2.1.0
+ * @author Nuno Pereira
+ */
+package jGame.core.internal;
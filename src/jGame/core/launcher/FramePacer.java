@@ -0,0 +1,91 @@
+package jGame.core.launcher;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps a loop running at a target rate by waiting out the remainder of each
+ * frame. Most of the wait is spent sleeping, and only the last stretch before
+ * the deadline is spun on, since sleeping alone is not precise enough to hit
+ * the deadline.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public class FramePacer {
+
+	// how close to the deadline we stop sleeping and start spinning
+	private static final long SPIN_THRESHOLD = 2000000;
+
+	private long nanoSecondsPerFrame = 0;
+	private long nextFrame = 0;
+
+	/**
+	 * Creates a frame pacer targeting the given frame rate.
+	 *
+	 * @param targetFPS the number of frames per second to target, {@code 0} for
+	 *                  no limit
+	 * @throws IllegalArgumentException if {@code targetFPS} is negative
+	 * @since 2.1.0
+	 */
+	public FramePacer(double targetFPS) throws IllegalArgumentException {
+		this.setTargetFPS(targetFPS);
+	}
+
+	/**
+	 * Sets the frame rate this pacer targets.
+	 *
+	 * @param targetFPS the number of frames per second to target, {@code 0} for
+	 *                  no limit
+	 * @throws IllegalArgumentException if {@code targetFPS} is negative
+	 * @since 2.1.0
+	 */
+	public void setTargetFPS(double targetFPS) throws IllegalArgumentException {
+		if (targetFPS < 0)
+			throw new IllegalArgumentException("Target FPS can't be negative, got " + targetFPS);
+
+		this.nanoSecondsPerFrame = targetFPS == 0 ? 0 : (long) (1000000000 / targetFPS);
+		this.nextFrame = 0;
+	}
+
+	/**
+	 * Returns weather this pacer limits the frame rate.
+	 *
+	 * @return {@code true} if there is a target frame rate, {@code false} if the
+	 *         loop runs unlimited
+	 * @since 2.1.0
+	 */
+	public boolean isLimited() {
+		return this.nanoSecondsPerFrame > 0;
+	}
+
+	/**
+	 * Waits until the current frame's deadline has passed. In unlimited mode this
+	 * only yields the thread. If the loop has fallen more than a frame behind,
+	 * this returns immediately and the deadlines are realigned to the current
+	 * time instead of rushing to catch up.
+	 *
+	 * @since 2.1.0
+	 */
+	public void sync() {
+
+		if (!isLimited()) {
+			Thread.yield();
+			return;
+		}
+
+		long now = System.nanoTime();
+
+		if (this.nextFrame == 0 || now - this.nextFrame > this.nanoSecondsPerFrame) {
+			this.nextFrame = now;
+		} else {
+			long remaining;
+			while ((remaining = this.nextFrame - System.nanoTime()) > SPIN_THRESHOLD)
+				LockSupport.parkNanos(remaining - SPIN_THRESHOLD);
+
+			while (this.nextFrame - System.nanoTime() > 0)
+				Thread.onSpinWait();
+		}
+
+		this.nextFrame += this.nanoSecondsPerFrame;
+	}
+}
@@ -7,17 +7,18 @@ import java.awt.RenderingHints;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.util.LinkedList;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.KeyStroke;
 
+import jGame.core.entity.Entity;
 import jGame.core.entity.EntityManager;
+import jGame.core.entity.WorldSnapshot;
 import jGame.core.serializable.GameSerializer;
 import jGame.core.sound.SoundStore;
 import jGame.core.ui.Window;
@@ -25,8 +26,11 @@ import jGame.core.ui.hud.Constraints;
 import jGame.core.ui.hud.UIHud;
 import jGame.core.ui.hud.UIHudButtonElement;
 import jGame.core.ui.hud.UIHudElement;
+import jGame.core.ui.hud.UIHudProfilerElement;
 import jGame.core.ui.hud.UIHudTextElement;
 import jGame.core.ui.hud.fonts.FontManager;
+import jGame.core.utils.profiler.FramePhase;
+import jGame.core.utils.profiler.FrameProfiler;
 import jGame.core.utils.properties.PropertiesManager;
 import jGame.logging.ProgramLogger;
 
@@ -47,9 +51,6 @@ public class GameLauncher {
 		SoundStore.init(PropertiesManager.getPropertyOrDefault("sounds", ""));
 	}
 
-	// a thread pool to make code execution non-blocking
-	private static ThreadPoolExecutor gameThreadPool = (ThreadPoolExecutor) Executors.newCachedThreadPool(Executors.defaultThreadFactory());
-
 	//default window setup
 	private static final int DEFAULT_WIDTH = 750, DEFAULT_HEIGHT = DEFAULT_WIDTH * 10 / 14;
 	private static final Window DEFAULT_WINDOW = new Window(DEFAULT_WIDTH, DEFAULT_HEIGHT, "Default Game");
@@ -76,6 +77,8 @@ public class GameLauncher {
 			new int[] { 7, 0, 0, 7 });
 	private static int fps = 0;
 
+	private static UIHudProfilerElement profilerOverlay = new UIHudProfilerElement(7, 30);
+
 	/**
 	 * Returns the current fps value.
 	 * 
@@ -86,7 +89,8 @@ public class GameLauncher {
 		return fps;
 	}
 
-	private static boolean pause = false, hudEvent = false;
+	private static volatile boolean pause = false;
+	private static boolean hudEvent = false;
 
 	/**
 	 * Convenience method to indicate that any events generated by the user that are
@@ -193,17 +197,126 @@ public class GameLauncher {
 		pauseAction.actionPerformed(null);
 	}
 
-	private static boolean isGameRunning = false, drawFPS = true;
+	private static volatile boolean isGameRunning = false;
+	private static boolean drawFPS = true;
+
+	// simulation settings: how many ticks per second, how many ticks we may run to
+	// catch up before rendering a frame and weather to render between ticks
+	private static double tickRate = 120;
+	private static int maxTicksPerFrame = 5;
+	private static boolean interpolation = true;
+
+	static {
+		try {
+			tickRate = Double.parseDouble(PropertiesManager.getPropertyOrDefault("game.tickRate", "120"));
+			maxTicksPerFrame = Integer.parseInt(PropertiesManager.getPropertyOrDefault("game.maxTicksPerFrame", "5"));
+		} catch (NumberFormatException e) {
+			ProgramLogger.writeErrorLog(e, "Invalid game loop properties, using defaults");
+		}
+		interpolation = Boolean.parseBoolean(PropertiesManager.getPropertyOrDefault("game.interpolation", "true"));
+	}
+
+	// the image entities are rendered to when the quality tier lowers the render resolution
+	private static BufferedImage sceneBuffer = null;
+
+	// paces rendering so the game loop doesn't keep a core busy when it has nothing to do. Capped by
+	// default, since unlimited rendering only yields between frames
+	private static FramePacer framePacer = new FramePacer(60);
+
+	static {
+		try {
+			framePacer.setTargetFPS(Double.parseDouble(PropertiesManager.getPropertyOrDefault("game.targetFPS", "60")));
+		} catch (IllegalArgumentException e) {
+			ProgramLogger.writeErrorLog(e, "Invalid target FPS, using 60");
+		}
+	}
+
+	// weather entities are rendered on a thread of their own
+	private static boolean renderThread = Boolean
+			.parseBoolean(PropertiesManager.getPropertyOrDefault("game.renderThread", "false"));
+
+	/**
+	 * Sets weather the game should be rendered on a separate thread. In this mode
+	 * the game loop only ticks the game, publishing a snapshot of the entities
+	 * after each tick, and a render thread draws the newest snapshot available.
+	 * Must be called before {@link #launchGame()}.
+	 * 
+	 * @param renderThread weather to render the game on a separate thread
+	 * @see Entity#render(Graphics2D, WorldSnapshot, int, double)
+	 * @since 2.1.0
+	 */
+	public static void setRenderThread(boolean renderThread) {
+		GameLauncher.renderThread = renderThread;
+	}
+
+	/**
+	 * Sets the maximum number of frames rendered per second. The game loop sleeps
+	 * for the remainder of each frame instead of rendering as fast as it can.
+	 * Defaults to {@code 60}, or the {@code game.targetFPS} property. Without a
+	 * limit the game loop keeps a core busy even when there is nothing to draw.
+	 * 
+	 * @param targetFPS the maximum number of frames per second, {@code 0} for no
+	 *                  limit
+	 * @throws IllegalArgumentException if {@code targetFPS} is negative
+	 * @since 2.1.0
+	 */
+	public static void setTargetFPS(double targetFPS) throws IllegalArgumentException {
+		framePacer.setTargetFPS(targetFPS);
+	}
+
+	/**
+	 * Sets the number of times per second the game is updated. This is independent
+	 * of how many frames are rendered per second.
+	 * 
+	 * @param tickRate the new number of ticks per second
+	 * @throws IllegalArgumentException if {@code tickRate} is not positive
+	 * @since 2.1.0
+	 */
+	public static void setTickRate(double tickRate) throws IllegalArgumentException {
+		if (tickRate <= 0)
+			throw new IllegalArgumentException("Tick rate must be positive, got " + tickRate);
+		GameLauncher.tickRate = tickRate;
+	}
+
+	/**
+	 * Returns the number of times per second the game is updated.
+	 * 
+	 * @return the current tick rate
+	 * @since 2.1.0
+	 */
+	public static double getTickRate() {
+		return tickRate;
+	}
+
+	/**
+	 * Sets the maximum number of ticks that can be run before rendering a frame
+	 * when the game falls behind. Any time owed beyond that is dropped, so a stall
+	 * slows the game down instead of making it spiral trying to catch up.
+	 * 
+	 * @param maxTicksPerFrame the maximum number of ticks per rendered frame
+	 * @throws IllegalArgumentException if {@code maxTicksPerFrame} is not positive
+	 * @since 2.1.0
+	 */
+	public static void setMaxTicksPerFrame(int maxTicksPerFrame) throws IllegalArgumentException {
+		if (maxTicksPerFrame <= 0)
+			throw new IllegalArgumentException("Max ticks per frame must be positive, got " + maxTicksPerFrame);
+		GameLauncher.maxTicksPerFrame = maxTicksPerFrame;
+	}
+
+	/**
+	 * Sets weather entities should be rendered between their previous and current
+	 * positions, according to how much time has passed since the last tick.
+	 * 
+	 * @param interpolation weather to interpolate entity positions when rendering
+	 * @since 2.1.0
+	 */
+	public static void setInterpolation(boolean interpolation) {
+		GameLauncher.interpolation = interpolation;
+	}
 
 	// the framework's main loop
 	private static Runnable gameLoop = () -> {
 		ProgramLogger.writeLog("Starting game loop.");
-		long lastTime = System.nanoTime();
-		double desiredFPS = 120;
-		double nanoSecondsPerFrame = 1000000000/desiredFPS;
-		double delta = 0;
-		long timer = System.currentTimeMillis();
-		int frames = 0;
 
 		FPSCounter.setZIndex(9999);
 		UIHud.addHUDUIElement(FPSCounter);
@@ -215,52 +328,162 @@ public class GameLauncher {
 
 		GameStateManager.initState();
 
+		if (renderThread) {
+			runPipelinedLoop();
+			processGameTermination();
+			return;
+		}
+
+		long lastTime = System.nanoTime();
+		long accumulator = 0;
+
 		while(isGameRunning) {
 
-			// ensure that all listeners can handle user events
-			mainWindow.getWindowCanvas().requestFocus();
+			long frameStart = System.nanoTime();
+
+			requestCanvasFocus();
+
+			long nanoSecondsPerTick = (long) (1000000000 / tickRate);
 
 			long now = System.nanoTime();
-			delta += (now - lastTime) / nanoSecondsPerFrame;
+			accumulator += now - lastTime;
 			lastTime = now;
-			while (delta >= 1) {
-				if (!pause)
-					tick();
-				delta--;
+
+			int ticks = 0;
+			while (accumulator >= nanoSecondsPerTick && ticks < maxTicksPerFrame) {
+				tick();
+				accumulator -= nanoSecondsPerTick;
+				ticks++;
 			}
 
-			if(isGameRunning)
-				render();
+			// we couldn't catch up, drop the time we still owe instead of spiraling
+			if (accumulator >= nanoSecondsPerTick)
+				accumulator %= nanoSecondsPerTick;
 
-			// store frames in local variable
-			frames++;
+			// nothing moves while paused, so there is nothing to interpolate
+			double alpha = interpolation && !pause ? (double) accumulator / nanoSecondsPerTick : 1;
 
-			// a second has passed, update fps
-			if(System.currentTimeMillis() - timer > 1000) {
-				timer += 1000;
+			if(isGameRunning)
+				render(alpha, null);
 
-				if (!drawFPS)
-					System.out.println("FPS: " + frames);
+			countFrame();
 
-				// copy value of frames to field and reset frames. This allows to correctly draw
-				// fps value every second
-				fps = frames;
-				frames = 0;
-			}
+			QualityController.recordFrame(System.nanoTime() - frameStart);
+
+			framePacer.sync();
 		}
 		processGameTermination();
 		return;
 	};
 
+	/**
+	 * Runs the game with rendering on a thread of its own. This thread ticks the
+	 * game at the tick rate and publishes a snapshot of the entities after each
+	 * tick, while the render thread keeps drawing the newest snapshot. Neither
+	 * thread ever waits for the other.
+	 *
+	 * @see EntityManager#publishSnapshot()
+	 * @see EntityManager#acquireSnapshot()
+	 * @since 2.1.0
+	 */
+	private static void runPipelinedLoop() {
+
+		Thread renderer = new Thread(() -> {
+			while (isGameRunning) {
+
+				long frameStart = System.nanoTime();
+
+				WorldSnapshot snapshot = EntityManager.acquireSnapshot();
+
+				// the snapshot is a tick behind the simulation, so interpolate towards it based
+				// on how long ago it was published
+				double nanoSecondsPerTick = 1000000000 / tickRate;
+				double alpha = interpolation && !pause
+						? Math.min(1, (System.nanoTime() - snapshot.getTimestamp()) / nanoSecondsPerTick)
+						: 1;
+
+				if (isGameRunning)
+					render(alpha, snapshot);
+
+				countFrame();
+
+				QualityController.recordFrame(System.nanoTime() - frameStart);
+
+				framePacer.sync();
+			}
+		}, "Render Thread");
+
+		renderer.start();
+
+		FramePacer tickPacer = new FramePacer(tickRate);
+		double pacedTickRate = tickRate;
+
+		while (isGameRunning) {
+
+			requestCanvasFocus();
+
+			tick();
+			if (!pause)
+				EntityManager.publishSnapshot();
+
+			if (pacedTickRate != tickRate) {
+				pacedTickRate = tickRate;
+				tickPacer.setTargetFPS(pacedTickRate);
+			}
+
+			tickPacer.sync();
+		}
+
+		try {
+			renderer.join();
+		} catch (InterruptedException e) {
+			ProgramLogger.writeErrorLog(e, "Interrupted while waiting for the render thread to finish");
+		}
+	}
+
+	// ensure that all listeners can handle user events, only asking for focus when
+	// we lost it
+	private static void requestCanvasFocus() {
+		if (!mainWindow.getWindowCanvas().isFocusOwner())
+			mainWindow.getWindowCanvas().requestFocus();
+	}
+
+	// frames rendered in the current second
+	private static int frames = 0;
+	private static long fpsTimer = System.currentTimeMillis();
+
+	// counts a rendered frame, updating the fps value every second
+	private static void countFrame() {
+
+		frames++;
+
+		// a second has passed, update fps
+		if(System.currentTimeMillis() - fpsTimer > 1000) {
+			fpsTimer += 1000;
+
+			if (!drawFPS)
+				System.out.println("FPS: " + frames);
+
+			// copy value of frames to field and reset frames. This allows to correctly draw
+			// fps value every second
+			fps = frames;
+			frames = 0;
+		}
+	}
+
 	public static String gameName;
 
 	/**
 	 * Renders the game on the screen, by clearing the game window, rendering all
 	 * entities and then the HUD.
 	 *
+	 * @param alpha    how far between the previous and the current tick we are,
+	 *                 from {@code 0} to {@code 1}
+	 * @param snapshot the snapshot to render the entities from, or {@code null} to
+	 *                 render their live state
 	 * @since 1.0.0
 	 */
-	private static void render() {
+	private static void render(double alpha, WorldSnapshot snapshot) {
 		BufferStrategy bs = mainWindow.getWindowCanvas().getBufferStrategy();
 		if (bs == null) {
 			mainWindow.getWindowCanvas().createBufferStrategy(BUFFER_AMOUNT);
@@ -269,18 +492,47 @@ public class GameLauncher {
 
 		Graphics2D g2d = (Graphics2D) bs.getDrawGraphics();
 
-		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		QualityTier quality = QualityController.getTier();
+		quality.applyHints(g2d);
 
 		//insert rendering code here
 
+		int width = (int) mainWindow.getWindowCanvas().getBounds().getWidth();
+		int height = (int) mainWindow.getWindowCanvas().getBounds().getHeight();
+
 		g2d.setBackground(backgroundColor);
 		
-		g2d.clearRect(0, 0, (int) mainWindow.getWindowCanvas().getBounds().getWidth(),
-				(int) mainWindow.getWindowCanvas().getBounds().getHeight());
+		g2d.clearRect(0, 0, width, height);
 		g2d.setColor(mainWindow.getWindowCanvas().getBackground());
 
-		EntityManager.renderEntities(g2d);
+		long start = FrameProfiler.start();
+		if (quality.getRenderScale() < 1) {
+
+			// render entities at a lower resolution and scale them up to the window, the
+			// HUD is still rendered at full resolution on top
+			int sceneWidth = Math.max(1, (int) (width * quality.getRenderScale()));
+			int sceneHeight = Math.max(1, (int) (height * quality.getRenderScale()));
+
+			if (sceneBuffer == null || sceneBuffer.getWidth() != sceneWidth || sceneBuffer.getHeight() != sceneHeight)
+				sceneBuffer = mainWindow.getWindowCanvas().getGraphicsConfiguration().createCompatibleImage(sceneWidth,
+						sceneHeight);
+
+			Graphics2D sceneGraphics = sceneBuffer.createGraphics();
+			quality.applyHints(sceneGraphics);
+			sceneGraphics.setBackground(backgroundColor);
+			sceneGraphics.clearRect(0, 0, sceneWidth, sceneHeight);
+			sceneGraphics.setColor(mainWindow.getWindowCanvas().getBackground());
+			sceneGraphics.scale((double) sceneWidth / width, (double) sceneHeight / height);
+
+			renderEntities(sceneGraphics, alpha, snapshot);
+			sceneGraphics.dispose();
+
+			g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g2d.drawImage(sceneBuffer, 0, 0, width, height, null);
+		} else {
+			renderEntities(g2d, alpha, snapshot);
+		}
+		FrameProfiler.record(FramePhase.ENTITY_RENDER, start);
 
 		//draw FPS on screen
 		if (drawFPS)
@@ -289,14 +541,26 @@ public class GameLauncher {
 			FPSCounter.setTextToDisplay("");
 
 		// render all HUD elements on top of every game object
+		start = FrameProfiler.start();
 		UIHud.render(g2d);
+		FrameProfiler.record(FramePhase.HUD_RENDER, start);
 
 		g2d.dispose();
 		g2d = null;
+		start = FrameProfiler.start();
 		bs.show();
+		FrameProfiler.record(FramePhase.PRESENT, start);
 		bs = null;
 	}
 
+	// renders either the live entities or the given snapshot of them
+	private static void renderEntities(Graphics2D g, double alpha, WorldSnapshot snapshot) {
+		if (snapshot == null)
+			EntityManager.renderEntities(g, alpha);
+		else
+			EntityManager.renderSnapshot(g, snapshot, alpha);
+	}
+
 	/**
 	 * Processes game termination. This method is called when the game is about to
 	 * close and we need to perform some vital last minute operations.
@@ -314,12 +578,16 @@ public class GameLauncher {
 	}
 
 	/**
-	 * Updates all the entities in the game before rendering them.
+	 * Updates all the entities in the game before rendering them. Jobs due this
+	 * tick and tasks queued for the game thread are processed even while the game
+	 * is paused.
 	 *
 	 * @since 1.0.0
 	 */
 	private static void tick() {
-		EntityManager.tickEntities();
+		JobSystem.processTick();
+		if (!pause)
+			EntityManager.tickEntities();
 	}
 
 	/**
@@ -341,17 +609,32 @@ public class GameLauncher {
 		if(!mainWindow.isShowable())
 			mainWindow.showWindow();
 
-		gameThreadPool.execute(gameLoop);
+		new Thread(gameLoop, "Game Loop").start();
 	}
 
 	/**
 	 * Queues a {@link Runnable} object to run asynchronously.
 	 *
 	 * @param r the {@link Runnable} object to run.
+	 * @see #submitTask(Runnable)
 	 * @since 1.0.0
 	 */
 	public synchronized static void queueTask(Runnable r) {
-		gameThreadPool.execute(r);
+		JobSystem.submit(r);
+	}
+
+	/**
+	 * Queues a {@link Runnable} object to run asynchronously, like
+	 * {@link #queueTask(Runnable)}, returning the job running it so it can be
+	 * waited for or continued on the game thread.
+	 *
+	 * @param r the {@link Runnable} object to run.
+	 * @return the job running {@code r}
+	 * @see JobSystem#submit(Runnable, Job...)
+	 * @since 2.1.0
+	 */
+	public static Job<Void> submitTask(Runnable r) {
+		return JobSystem.submit(r);
 	}
 
 	/**
@@ -384,6 +667,21 @@ public class GameLauncher {
 		GameLauncher.drawFPS = drawFPS;
 	}
 
+	/**
+	 * Enables or disables the frame profiler overlay. Enabling the overlay also
+	 * enables the {@link FrameProfiler}, and disabling it stops profiling.
+	 *
+	 * @param drawProfiler weather to draw the frame profiler overlay
+	 * @since 2.1.0
+	 */
+	public synchronized static void setDrawProfiler(boolean drawProfiler) {
+		FrameProfiler.setEnabled(drawProfiler);
+		if (drawProfiler)
+			UIHud.addHUDUIElement(profilerOverlay);
+		else
+			UIHud.removeHUDUIElement(profilerOverlay);
+	}
+
 	/**
 	 * Sets the running state of the game.
 	 *
@@ -5,6 +5,7 @@ import java.util.List;
 
 import jGame.core.entity.Entity;
 import jGame.core.entity.EntityManager;
+import jGame.core.entity.component.BroadPhase;
 import jGame.core.ui.hud.UIHud;
 import jGame.core.ui.hud.UIHudElement;
 import jGame.logging.ProgramLogger;
@@ -22,6 +23,9 @@ public class GameState {
 
 	private String stateName;
 
+	// the collision broad-phase this state is played with, if it picks one
+	private BroadPhase broadPhase = null;
+
 	/**
 	 * Returns the name of this {@code GameState}.
 	 * 
@@ -32,6 +36,31 @@ public class GameState {
 		return stateName;
 	}
 
+	/**
+	 * Sets the collision broad-phase to use while this state is played. Levels
+	 * differ, so each state can use the broad-phase that suits it best; states
+	 * that don't pick one keep whichever is in use when they're initialized.
+	 * 
+	 * @param broadPhase the broad-phase to use, or {@code null} to keep the one in
+	 *                   use
+	 * @see EntityManager#setBroadPhase(BroadPhase)
+	 * @since 2.1.0
+	 */
+	public void setBroadPhase(BroadPhase broadPhase) {
+		this.broadPhase = broadPhase;
+	}
+
+	/**
+	 * Returns the collision broad-phase to use while this state is played.
+	 * 
+	 * @return the broad-phase of this state, or {@code null} if it keeps the one
+	 *         in use
+	 * @since 2.1.0
+	 */
+	public BroadPhase getBroadPhase() {
+		return broadPhase;
+	}
+
 	/**
 	 * Create a new {@link GameState} object with the given entities and HUD
 	 * elements.
@@ -48,23 +77,30 @@ public class GameState {
 	}
 
 	/**
-	 * Initializes the current state, adding all entities and registering their
-	 * respective listeners.
+	 * Initializes the current state, adding all entities and registering the input
+	 * listeners of every entity in the game, including those added before this
+	 * state. When the world is headless the listeners are only set up and no HUD
+	 * elements are added, since there is no window to attach them to.
+	 * If this state has a broad-phase, it is put in use first.
 	 * 
+	 * @see WorldBounds#isHeadless()
 	 * @since 1.0.0
 	 */
 	public void initState() {
 
+		if (broadPhase != null)
+			EntityManager.setBroadPhase(broadPhase);
+
 		if (!stateEntities.isEmpty()) {
-			stateEntities.forEach((entity) -> {
-				EntityManager.addEntity(entity);
-				entity.restart();
-			});
+			EntityManager.addEntities(stateEntities);
+			stateEntities.forEach(Entity::restart);
 
+			// entities already in the game, added with the state's or on their own, need
+			// their listeners too
 			EntityManager.registerInputListeners();
 		}
 
-		if (!stateHUDElements.isEmpty()) {
+		if (!stateHUDElements.isEmpty() && !WorldBounds.isHeadless()) {
 			stateHUDElements.forEach((element) -> {
 				UIHud.addHUDUIElement(element);
 			});
@@ -83,15 +119,17 @@ public class GameState {
 	 */
 	public void terminateState() {
 
-		stateEntities.forEach((entity) -> {
-			EntityManager.removeEntity(entity);
-			entity.removeInputListener();
-		});
+		boolean headless = WorldBounds.isHeadless();
+
+		EntityManager.removeEntities(stateEntities);
+		if (!headless)
+			stateEntities.forEach(Entity::removeInputListener);
 
-		stateHUDElements.forEach((element) -> {
-			UIHud.removeHUDUIElement(element);
-			element.removeInputListener();
-		});
+		if (!headless)
+			stateHUDElements.forEach((element) -> {
+				UIHud.removeHUDUIElement(element);
+				element.removeInputListener();
+			});
 
 		ProgramLogger.writeLog(this + " terminated.");
 	}
@@ -0,0 +1,146 @@
+package jGame.core.launcher;
+
+import jGame.core.entity.EntityManager;
+import jGame.logging.ProgramLogger;
+
+/**
+ * Entry-point for running a game's simulation without any window. Entities are
+ * ticked against a logical world size, as fast as the CPU allows unless a tick
+ * rate is set, which makes this suitable for soak tests and simulations on
+ * machines without a display.
+ * <br>
+ * <br>
+ * Unlike {@link GameLauncher}, this class never creates a {@link jGame.core.ui.Window},
+ * so it can be used in a JVM running with {@code java.awt.headless=true}.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public class HeadlessLauncher {
+
+	private static volatile boolean isSimulationRunning = false;
+	private static double ticksPerSecond = 0;
+
+	// the tick rate to run at, 0 to run as fast as possible
+	private static double tickRate = 0;
+
+	// static class, can't instantiate
+	private HeadlessLauncher() {
+	}
+
+	/**
+	 * Sets the logical size of the world the simulation runs in. Must be called
+	 * before launching the simulation.
+	 *
+	 * @param width  the width of the world
+	 * @param height the height of the world
+	 * @throws IllegalArgumentException if either dimension is not positive
+	 * @see WorldBounds#setHeadless(int, int)
+	 * @since 2.1.0
+	 */
+	public static void setWorldSize(int width, int height) throws IllegalArgumentException {
+		WorldBounds.setHeadless(width, height);
+	}
+
+	/**
+	 * Sets the number of times per second the simulation is ticked. By default
+	 * the simulation runs as fast as possible.
+	 *
+	 * @param tickRate the number of ticks per second, {@code 0} to run as fast as
+	 *                 possible
+	 * @throws IllegalArgumentException if {@code tickRate} is negative
+	 * @since 2.1.0
+	 */
+	public static void setTickRate(double tickRate) throws IllegalArgumentException {
+		if (tickRate < 0)
+			throw new IllegalArgumentException("Tick rate can't be negative, got " + tickRate);
+		HeadlessLauncher.tickRate = tickRate;
+	}
+
+	/**
+	 * Returns the number of times per second the simulation is ticked.
+	 *
+	 * @return the tick rate, {@code 0} if the simulation runs as fast as possible
+	 * @since 2.1.0
+	 */
+	public static double getTickRate() {
+		return tickRate;
+	}
+
+	/**
+	 * Runs the simulation on the calling thread, initializing the current
+	 * {@link GameState} (if any) and ticking every entity until {@link #stop()}
+	 * is called or {@code maxTicks} ticks have been run.
+	 *
+	 * @param maxTicks the number of ticks to run, {@code 0} or less to run until
+	 *                 stopped
+	 * @return the number of ticks that were run
+	 * @throws IllegalStateException if the world size hasn't been set
+	 * @see #setWorldSize(int, int)
+	 * @since 2.1.0
+	 */
+	public static long launch(long maxTicks) throws IllegalStateException {
+
+		if (!WorldBounds.isHeadless())
+			throw new IllegalStateException("The world size must be set before launching a headless simulation");
+
+		ProgramLogger.writeLog("Launching headless simulation!");
+
+		isSimulationRunning = true;
+
+		if (GameStateManager.getCurrentGameState() != null)
+			GameStateManager.initState();
+
+		long ticks = 0;
+		long start = System.nanoTime();
+
+		FramePacer tickPacer = tickRate > 0 ? new FramePacer(tickRate) : null;
+
+		while (isSimulationRunning && (maxTicks <= 0 || ticks < maxTicks)) {
+			JobSystem.processTick();
+			EntityManager.tickEntities();
+			ticks++;
+
+			if (tickPacer != null)
+				tickPacer.sync();
+		}
+
+		long elapsed = Math.max(System.nanoTime() - start, 1);
+		ticksPerSecond = ticks * 1000000000d / elapsed;
+
+		isSimulationRunning = false;
+
+		ProgramLogger.writeLog("Headless simulation ran " + ticks + " ticks (" + (long) ticksPerSecond + " ticks/s)");
+
+		return ticks;
+	}
+
+	/**
+	 * Stops the running simulation after the current tick.
+	 *
+	 * @since 2.1.0
+	 */
+	public static void stop() {
+		isSimulationRunning = false;
+	}
+
+	/**
+	 * Returns weather a headless simulation is currently running.
+	 *
+	 * @return {@code true} if the simulation is running, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public static boolean isRunning() {
+		return isSimulationRunning;
+	}
+
+	/**
+	 * Returns the tick rate achieved by the last simulation run.
+	 *
+	 * @return the number of ticks per second of the last run
+	 * @since 2.1.0
+	 */
+	public static double getTicksPerSecond() {
+		return ticksPerSecond;
+	}
+}
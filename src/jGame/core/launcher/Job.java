@@ -0,0 +1,99 @@
+package jGame.core.launcher;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * A unit of work submitted to the {@link JobSystem}. Jobs run on the job
+ * system's workers, possibly after other jobs they depend on, and can hand
+ * their results back to the game thread.
+ *
+ * @param <T> the type of the result of this job
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public class Job<T> {
+
+	final CompletableFuture<T> future;
+
+	Job(CompletableFuture<T> future) {
+		this.future = future;
+	}
+
+	/**
+	 * Returns weather this job has finished running, successfully or not.
+	 *
+	 * @return {@code true} if this job is done, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean isDone() {
+		return future.isDone();
+	}
+
+	/**
+	 * Returns weather this job finished by throwing an exception.
+	 *
+	 * @return {@code true} if this job failed, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean isFailed() {
+		return future.isCompletedExceptionally();
+	}
+
+	/**
+	 * Waits for this job to finish and returns its result.
+	 *
+	 * @return the result of this job
+	 * @throws java.util.concurrent.CompletionException if this job failed
+	 * @since 2.1.0
+	 */
+	public T join() {
+		return future.join();
+	}
+
+	/**
+	 * Makes sure this job is finished before the game runs the given tick. If it
+	 * isn't done by then, the game thread waits for it.
+	 *
+	 * @param tick the tick before which this job must be finished
+	 * @return this job
+	 * @see JobSystem#getTick()
+	 * @since 2.1.0
+	 */
+	public Job<T> completeBeforeTick(long tick) {
+		JobSystem.addDeadline(this, tick);
+		return this;
+	}
+
+	/**
+	 * Runs the given action on the game thread, with the result of this job, at
+	 * the start of the first tick after this job finishes. The action isn't run
+	 * if this job fails.
+	 *
+	 * @param action the action to run on the game thread
+	 * @return a job that finishes once {@code action} has run
+	 * @since 2.1.0
+	 */
+	public Job<Void> thenOnGameThread(Consumer<? super T> action) {
+		CompletableFuture<Void> continuation = new CompletableFuture<Void>();
+
+		future.whenComplete((result, exception) -> {
+			if (exception != null) {
+				continuation.completeExceptionally(exception);
+				return;
+			}
+
+			JobSystem.runOnGameThread(() -> {
+				try {
+					action.accept(result);
+					continuation.complete(null);
+				} catch (RuntimeException e) {
+					continuation.completeExceptionally(e);
+					throw e;
+				}
+			});
+		});
+
+		return new Job<Void>(continuation);
+	}
+}
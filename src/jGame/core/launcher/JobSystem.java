@@ -0,0 +1,256 @@
+package jGame.core.launcher;
+
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+
+import jGame.logging.ProgramLogger;
+
+/**
+ * Runs work off the game thread, on a bounded pool of workers sized to the
+ * number of available cores. Workers steal work from each other, so a burst of
+ * small jobs is spread evenly. <br>
+ * <br>
+ * Jobs can depend on other jobs, and their results can be handed back to the
+ * game thread. A job can also be required to finish before a given tick, in
+ * which case the game thread waits for it before running that tick. Launchers
+ * call {@link #processTick()} at the start of every tick to honor these
+ * guarantees.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class JobSystem {
+
+	// leave a core for the game thread
+	private static final int WORKER_AMOUNT = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+	private static final ForkJoinPool WORKERS = new ForkJoinPool(WORKER_AMOUNT, (pool) -> {
+		ForkJoinWorkerThread worker = new ForkJoinWorkerThread(pool) {
+		};
+		worker.setName("Job Worker " + worker.getPoolIndex());
+		return worker;
+	}, null, true);
+
+	// tasks to run on the game thread at the start of the next tick
+	private static ArrayList<Runnable> gameThreadTasks = new ArrayList<Runnable>();
+
+	// jobs that must be done before a given tick, earliest tick first
+	private static final PriorityQueue<Deadline> DEADLINES = new PriorityQueue<Deadline>();
+
+	private static volatile long tick = 0;
+
+	// static class, can't instantiate
+	private JobSystem() {
+	}
+
+	/**
+	 * Submits a task to run once all the given jobs have finished.
+	 *
+	 * @param task         the task to run
+	 * @param dependencies the jobs that must finish before {@code task} runs
+	 * @return the job running the task
+	 * @since 2.1.0
+	 */
+	public static Job<Void> submit(Runnable task, Job<?>... dependencies) {
+		return submit(() -> {
+			task.run();
+			return null;
+		}, dependencies);
+	}
+
+	/**
+	 * Submits a task producing a result to run once all the given jobs have
+	 * finished. If any dependency fails, the task isn't run and the returned job
+	 * fails as well.
+	 *
+	 * @param <T>          the type of the result of the task
+	 * @param task         the task to run
+	 * @param dependencies the jobs that must finish before {@code task} runs
+	 * @return the job running the task
+	 * @since 2.1.0
+	 */
+	public static <T> Job<T> submit(Supplier<T> task, Job<?>... dependencies) {
+
+		CompletableFuture<T> future;
+
+		if (dependencies.length == 0) {
+			future = CompletableFuture.supplyAsync(task, WORKERS);
+		} else {
+			CompletableFuture<?>[] dependencyFutures = new CompletableFuture<?>[dependencies.length];
+			for (int i = 0; i < dependencies.length; i++)
+				dependencyFutures[i] = dependencies[i].future;
+
+			future = CompletableFuture.allOf(dependencyFutures).thenApplyAsync((ignored) -> task.get(), WORKERS);
+		}
+
+		future.whenComplete((result, exception) -> {
+			if (exception != null)
+				logFailure(exception, "Job failed");
+		});
+
+		return new Job<T>(future);
+	}
+
+	/**
+	 * Queues a task to run on the game thread at the start of the next tick.
+	 *
+	 * @param task the task to run on the game thread
+	 * @since 2.1.0
+	 */
+	public static void runOnGameThread(Runnable task) {
+		synchronized (JobSystem.class) {
+			gameThreadTasks.add(task);
+			JobSystem.class.notifyAll(); // the game thread may be waiting on a deadline
+		}
+	}
+
+	/**
+	 * Returns the number of ticks processed so far.
+	 *
+	 * @return the current tick
+	 * @since 2.1.0
+	 */
+	public static long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Starts a new tick: waits for every job that must finish before it and then
+	 * runs the tasks queued for the game thread. Tasks queued while these run are
+	 * left for the next tick, except while waiting on a job, when tasks are run
+	 * as soon as they are queued, since the job may be waiting on them. Must only
+	 * be called from the game thread.
+	 *
+	 * @since 2.1.0
+	 */
+	public static void processTick() {
+
+		long currentTick = ++tick;
+
+		while (true) {
+			Deadline deadline;
+			synchronized (DEADLINES) {
+				deadline = DEADLINES.peek();
+				if (deadline == null || deadline.tick > currentTick)
+					break;
+				DEADLINES.poll();
+			}
+
+			awaitOnGameThread(deadline.job);
+		}
+
+		runGameThreadTasks();
+	}
+
+	// waits for the given job, running the game thread tasks queued in the meantime, so jobs continued on
+	// the game thread can finish
+	private static void awaitOnGameThread(Job<?> job) {
+		CompletableFuture<?> future = job.future;
+		if (future.isDone())
+			return;
+
+		future.whenComplete((result, exception) -> {
+			synchronized (JobSystem.class) {
+				JobSystem.class.notifyAll();
+			}
+		});
+
+		while (!future.isDone()) {
+			if (runGameThreadTasks())
+				continue;
+
+			synchronized (JobSystem.class) {
+				if (!future.isDone() && gameThreadTasks.isEmpty()) {
+					try {
+						JobSystem.class.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						ProgramLogger.writeErrorLog(e, "Interrupted while waiting on a job");
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	// runs the tasks queued for the game thread so far, returning weather there were any
+	private static boolean runGameThreadTasks() {
+		ArrayList<Runnable> tasks;
+		synchronized (JobSystem.class) {
+			if (gameThreadTasks.isEmpty())
+				return false;
+			tasks = gameThreadTasks;
+			gameThreadTasks = new ArrayList<Runnable>();
+		}
+
+		for (Runnable task : tasks) {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				ProgramLogger.writeErrorLog(e, "Game thread task failed");
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Registers a job that must be finished before the given tick.
+	 *
+	 * @param job  the job
+	 * @param tick the tick before which the job must be finished
+	 * @since 2.1.0
+	 */
+	static void addDeadline(Job<?> job, long tick) {
+		synchronized (DEADLINES) {
+			DEADLINES.add(new Deadline(job, tick));
+		}
+	}
+
+	/**
+	 * Returns the number of workers running jobs.
+	 *
+	 * @return the number of workers
+	 * @since 2.1.0
+	 */
+	public static int getWorkerAmount() {
+		return WORKER_AMOUNT;
+	}
+
+	private static void logFailure(Throwable exception, String comment) {
+		Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+				? exception.getCause()
+				: exception;
+
+		if (cause instanceof Exception)
+			ProgramLogger.writeErrorLog((Exception) cause, comment);
+		else
+			ProgramLogger.writeErrorLog(new Exception(cause), comment);
+	}
+
+	/**
+	 * A job that must be finished before a given tick.
+	 *
+	 * @author Nuno Pereira
+	 * @since 2.1.0
+	 */
+	private static class Deadline implements Comparable<Deadline> {
+
+		private final Job<?> job;
+		private final long tick;
+
+		Deadline(Job<?> job, long tick) {
+			this.job = job;
+			this.tick = tick;
+		}
+
+		@Override
+		public int compareTo(Deadline other) {
+			return Long.compare(this.tick, other.tick);
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package jGame.core.launcher;
+
+import jGame.core.utils.properties.PropertiesManager;
+import jGame.logging.ProgramLogger;
+
+/**
+ * Picks the {@link QualityTier} the game is rendered at. When adaptive quality
+ * is enabled, the time every frame takes is watched and the quality is lowered
+ * a tier at a time while frames overrun their budget, and raised back once
+ * there is enough headroom. <br>
+ * <br>
+ * Frame times are smoothed with an exponential moving average, and the
+ * thresholds for lowering and raising the quality are far apart and must hold
+ * for a number of frames, so the quality doesn't flicker between tiers.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class QualityController {
+
+	// weight of the newest frame in the average frame time
+	private static final double SMOOTHING = 0.1;
+
+	// lower the quality when the average is over budget for this many frames in a row
+	private static final double LOWER_THRESHOLD = 1.0;
+	private static final int LOWER_AFTER_FRAMES = 30;
+
+	// raise the quality when the average is well under budget for this many frames in a row
+	private static final double RAISE_THRESHOLD = 0.6;
+	private static final int RAISE_AFTER_FRAMES = 180;
+
+	private static volatile QualityTier tier = QualityTier.HIGH;
+	private static volatile boolean adaptive = false;
+
+	private static long frameBudget = 1000000000 / 60;
+	private static double averageFrameTime = 0;
+	private static int framesOverBudget = 0, framesUnderBudget = 0;
+
+	static {
+		adaptive = Boolean.parseBoolean(PropertiesManager.getPropertyOrDefault("quality.adaptive", "false"));
+
+		try {
+			setTier(QualityTier.valueOf(PropertiesManager.getPropertyOrDefault("quality.tier", "HIGH")));
+			setTargetFPS(Double.parseDouble(PropertiesManager.getPropertyOrDefault("quality.targetFPS", "60")));
+		} catch (IllegalArgumentException e) {
+			ProgramLogger.writeErrorLog(e, "Invalid quality properties, using defaults");
+		}
+	}
+
+	// static class, can't instantiate
+	private QualityController() {
+	}
+
+	/**
+	 * Enables or disables adaptive quality. When disabled, the game stays at the
+	 * current tier.
+	 *
+	 * @param adaptive weather to adjust the quality to the frame times
+	 * @since 2.1.0
+	 */
+	public static synchronized void setAdaptive(boolean adaptive) {
+		ProgramLogger.writeLog((adaptive ? "Enabling" : "Disabling") + " adaptive quality");
+		QualityController.adaptive = adaptive;
+		resetHistory();
+	}
+
+	/**
+	 * Returns weather the quality is adjusted to the frame times.
+	 *
+	 * @return {@code true} if adaptive quality is enabled, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public static boolean isAdaptive() {
+		return adaptive;
+	}
+
+	/**
+	 * Sets the frame rate adaptive quality tries to keep.
+	 *
+	 * @param targetFPS the number of frames per second to keep
+	 * @throws IllegalArgumentException if {@code targetFPS} is not positive
+	 * @since 2.1.0
+	 */
+	public static synchronized void setTargetFPS(double targetFPS) throws IllegalArgumentException {
+		if (targetFPS <= 0)
+			throw new IllegalArgumentException("Target FPS must be positive, got " + targetFPS);
+
+		frameBudget = (long) (1000000000 / targetFPS);
+		resetHistory();
+	}
+
+	/**
+	 * Sets the tier the game is rendered at. If adaptive quality is enabled, it
+	 * keeps adjusting from this tier.
+	 *
+	 * @param tier the new quality tier
+	 * @throws IllegalArgumentException if {@code tier} is {@code null}
+	 * @since 2.1.0
+	 */
+	public static synchronized void setTier(QualityTier tier) throws IllegalArgumentException {
+		if (tier == null)
+			throw new IllegalArgumentException("Quality tier can't be null");
+
+		QualityController.tier = tier;
+		resetHistory();
+	}
+
+	/**
+	 * Returns the tier the game is currently rendered at.
+	 *
+	 * @return the current quality tier
+	 * @since 2.1.0
+	 */
+	public static QualityTier getTier() {
+		return tier;
+	}
+
+	/**
+	 * Returns the fraction of particles a game should currently spawn.
+	 *
+	 * @return the particle density of the current tier
+	 * @see QualityTier#getParticleDensity()
+	 * @since 2.1.0
+	 */
+	public static double getParticleDensity() {
+		return tier.getParticleDensity();
+	}
+
+	/**
+	 * Reports how long the last frame took to produce, not counting any time spent
+	 * waiting for the next frame, and adjusts the quality if needed.
+	 *
+	 * @param frameTime the time the frame took, in nanoseconds
+	 * @since 2.1.0
+	 */
+	static synchronized void recordFrame(long frameTime) {
+
+		if (!adaptive)
+			return;
+
+		averageFrameTime = averageFrameTime == 0 ? frameTime
+				: averageFrameTime + (frameTime - averageFrameTime) * SMOOTHING;
+
+		if (averageFrameTime > frameBudget * LOWER_THRESHOLD) {
+			framesUnderBudget = 0;
+			if (++framesOverBudget >= LOWER_AFTER_FRAMES && tier != tier.lower())
+				changeTier(tier.lower());
+		} else if (averageFrameTime < frameBudget * RAISE_THRESHOLD) {
+			framesOverBudget = 0;
+			if (++framesUnderBudget >= RAISE_AFTER_FRAMES && tier != tier.higher())
+				changeTier(tier.higher());
+		} else {
+			framesOverBudget = 0;
+			framesUnderBudget = 0;
+		}
+	}
+
+	private static void changeTier(QualityTier newTier) {
+		ProgramLogger.writeLog(String.format("%s quality to %s (average frame time %.2fms, budget %.2fms)",
+				newTier.ordinal() > tier.ordinal() ? "Lowering" : "Raising", newTier, averageFrameTime / 1e6,
+				frameBudget / 1e6));
+
+		tier = newTier;
+
+		// the new tier changes how long frames take, so start measuring again
+		framesOverBudget = 0;
+		framesUnderBudget = 0;
+	}
+
+	private static void resetHistory() {
+		averageFrameTime = 0;
+		framesOverBudget = 0;
+		framesUnderBudget = 0;
+	}
+}
@@ -0,0 +1,100 @@
+package jGame.core.launcher;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+/**
+ * The quality levels the game can be rendered at, from best looking to
+ * cheapest. Each tier sets the rendering hints used, the resolution entities
+ * are rendered at before being scaled to the window, how often sprite
+ * animations advance and how many particles a game should spawn.
+ *
+ * @see QualityController
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public enum QualityTier {
+
+	HIGH(true, true, true, 1, 1, 1),
+	MEDIUM(false, true, true, 1, 1, 0.75),
+	LOW(false, true, false, 0.75, 0.5, 0.5),
+	LOWEST(false, false, false, 0.5, 0.5, 0.25);
+
+	private final boolean antialiasing, textAntialiasing, renderQuality;
+	private final double renderScale, animationRate, particleDensity;
+
+	QualityTier(boolean antialiasing, boolean textAntialiasing, boolean renderQuality, double renderScale,
+			double animationRate, double particleDensity) {
+		this.antialiasing = antialiasing;
+		this.textAntialiasing = textAntialiasing;
+		this.renderQuality = renderQuality;
+		this.renderScale = renderScale;
+		this.animationRate = animationRate;
+		this.particleDensity = particleDensity;
+	}
+
+	/**
+	 * Sets the rendering hints of this tier on the given graphics object.
+	 *
+	 * @param g the graphics object to set the hints on
+	 * @since 2.1.0
+	 */
+	public void applyHints(Graphics2D g) {
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				antialiasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+				textAntialiasing ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+		g.setRenderingHint(RenderingHints.KEY_RENDERING,
+				renderQuality ? RenderingHints.VALUE_RENDER_QUALITY : RenderingHints.VALUE_RENDER_SPEED);
+	}
+
+	/**
+	 * Returns the fraction of the window's resolution entities are rendered at.
+	 *
+	 * @return the render scale, {@code 1} for full resolution
+	 * @since 2.1.0
+	 */
+	public double getRenderScale() {
+		return renderScale;
+	}
+
+	/**
+	 * Returns how fast sprite animations advance, relative to their normal speed.
+	 *
+	 * @return the animation rate, {@code 1} for the normal speed
+	 * @since 2.1.0
+	 */
+	public double getAnimationRate() {
+		return animationRate;
+	}
+
+	/**
+	 * Returns the fraction of particles a game should spawn at this tier.
+	 *
+	 * @return the particle density, {@code 1} for every particle
+	 * @since 2.1.0
+	 */
+	public double getParticleDensity() {
+		return particleDensity;
+	}
+
+	/**
+	 * Returns the next cheaper tier.
+	 *
+	 * @return the tier below this one, or this tier if it's the cheapest
+	 * @since 2.1.0
+	 */
+	public QualityTier lower() {
+		return this.ordinal() == values().length - 1 ? this : values()[this.ordinal() + 1];
+	}
+
+	/**
+	 * Returns the next better looking tier.
+	 *
+	 * @return the tier above this one, or this tier if it's the best looking
+	 * @since 2.1.0
+	 */
+	public QualityTier higher() {
+		return this.ordinal() == 0 ? this : values()[this.ordinal() - 1];
+	}
+}
@@ -0,0 +1,71 @@
+package jGame.core.launcher;
+
+/**
+ * The dimensions of the area entities live in. By default these are the
+ * dimensions of the main window's canvas, but a logical size can be set
+ * instead so the game can be simulated without any window at all.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class WorldBounds {
+
+	// the logical dimensions of the world, negative when the world is backed by the main window
+	private static volatile int logicalWidth = -1, logicalHeight = -1;
+
+	// static class, can't instantiate
+	private WorldBounds() {
+	}
+
+	/**
+	 * Detaches the world from the main window, giving it the given logical size.
+	 * No window or canvas is ever touched while the world is headless.
+	 *
+	 * @param width  the width of the world
+	 * @param height the height of the world
+	 * @throws IllegalArgumentException if either dimension is not positive
+	 * @since 2.1.0
+	 */
+	public static void setHeadless(int width, int height) throws IllegalArgumentException {
+		if (width <= 0 || height <= 0)
+			throw new IllegalArgumentException("World dimensions must be positive, got " + width + "x" + height);
+
+		logicalHeight = height;
+		logicalWidth = width;
+	}
+
+	/**
+	 * Returns weather the world has a logical size instead of being backed by the
+	 * main window.
+	 *
+	 * @return {@code true} if the world is headless, {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public static boolean isHeadless() {
+		return logicalWidth >= 0;
+	}
+
+	/**
+	 * Returns the width of the world.
+	 *
+	 * @return the logical width of the world if it is headless, otherwise the
+	 *         width of the main window's canvas
+	 * @since 2.1.0
+	 */
+	public static int getWidth() {
+		int width = logicalWidth;
+		return width >= 0 ? width : GameLauncher.getMainWindow().getWindowCanvas().getWidth();
+	}
+
+	/**
+	 * Returns the height of the world.
+	 *
+	 * @return the logical height of the world if it is headless, otherwise the
+	 *         height of the main window's canvas
+	 * @since 2.1.0
+	 */
+	public static int getHeight() {
+		int height = logicalHeight;
+		return height >= 0 ? height : GameLauncher.getMainWindow().getWindowCanvas().getHeight();
+	}
+}
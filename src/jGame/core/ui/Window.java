@@ -4,6 +4,7 @@ import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.event.ActionEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseAdapter;
@@ -14,7 +15,11 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
+import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.JComponent;
 import javax.swing.JFrame;
@@ -22,6 +27,7 @@ import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
 
 import jGame.core.entity.Entity;
+import jGame.core.input.InputRecorder;
 import jGame.core.launcher.GameLauncher;
 import jGame.core.ui.hud.UIHudElement;
 import jGame.core.utils.MathUtils;
@@ -48,6 +54,11 @@ public class Window {
 	// the canvas object in which the game is going to be rendered
 	private volatile Canvas windowCanvas = new Canvas();
 
+	// the entity key listeners added to the canvas, so checking for duplicates doesn't
+	// scan every listener
+	private final Set<KeyListener> entityKeyListeners = Collections
+			.newSetFromMap(new IdentityHashMap<KeyListener, Boolean>());
+
 	private boolean fullScreen = false;
 
 	// static boolean to check if main window has been set, so we don't add
@@ -268,7 +279,7 @@ public class Window {
 	 * @since 1.0.0
 	 */
 	public void addInputListener(KeyAdapter inputListener, Entity entity) {
-		if (Arrays.asList(windowCanvas.getListeners(KeyListener.class)).contains(inputListener))
+		if (!entityKeyListeners.add(inputListener))
 			return;
 		ProgramLogger.writeLog("Adding key input listener for " + entity);
 		windowCanvas.addKeyListener(inputListener);
@@ -297,6 +308,7 @@ public class Window {
 	 * @since 1.0.0
 	 */
 	public void removeInputListener(KeyAdapter inputListener, Entity entity) {
+		entityKeyListeners.remove(inputListener);
 		ProgramLogger.writeLog("Removing key input listener for " + entity);
 		windowCanvas.removeKeyListener(inputListener);
 	}
@@ -314,7 +326,8 @@ public class Window {
 	}
 
 	/**
-	 * Adds a key binding to the given {@link Action}.
+	 * Adds a key binding to the given {@link Action}. Every time the action is
+	 * performed it is reported to the {@link InputRecorder}.
 	 *
 	 * @param action    the action to perform when a key is pressed
 	 * @param keyStroke the key to trigger the action when pressed
@@ -323,7 +336,40 @@ public class Window {
 	 */
 	public void addAction(Action action, KeyStroke keyStroke, String key) {
 		((JComponent) windowFrame.getContentPane()).getInputMap().put(keyStroke, key);
-		((JComponent) windowFrame.getContentPane()).getActionMap().put(key, action);
+		((JComponent) windowFrame.getContentPane()).getActionMap().put(key, new AbstractAction() {
+
+			private static final long serialVersionUID = -3817624011935583519L;
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				InputRecorder.recordAction(key);
+				action.actionPerformed(e);
+			}
+
+			@Override
+			public boolean isEnabled() {
+				return action.isEnabled();
+			}
+		});
+	}
+
+	/**
+	 * Performs the action bound under the given key, as if its key binding had
+	 * been triggered, on the calling thread.
+	 *
+	 * @param key the string denoting the action
+	 * @return {@code true} if an enabled action was found and performed,
+	 *         {@code false} otherwise
+	 * @since 2.1.0
+	 */
+	public boolean performAction(String key) {
+		Action action = ((JComponent) windowFrame.getContentPane()).getActionMap().get(key);
+
+		if (action == null || !action.isEnabled())
+			return false;
+
+		action.actionPerformed(new ActionEvent(windowCanvas, ActionEvent.ACTION_PERFORMED, key));
+		return true;
 	}
 
 	/**
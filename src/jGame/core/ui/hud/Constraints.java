@@ -2,7 +2,7 @@ package jGame.core.ui.hud;
 
 import java.util.Objects;
 
-import jGame.core.launcher.GameLauncher;
+import jGame.core.launcher.WorldBounds;
 
 /**
  * Display constraints to a {@link UIHudElement}.
@@ -151,7 +151,7 @@ public class Constraints {
 				return this.constrainedElement.parentElement.x + this.constrainedElement.parentElement.width / 2
 						- (constrainedElement.width / 2);
 			} else {
-				return (int) (GameLauncher.getMainWindow().getWindowCanvas().getBounds().getWidth() / 2)
+				return (WorldBounds.getWidth() / 2)
 						- (constrainedElement.width / 2);
 			}
 		} else if ((this.constraintType & Constraints.FROM_LEFT_CONSTRAINT) != 0) {
@@ -165,7 +165,7 @@ public class Constraints {
 				return this.constrainedElement.parentElement.x + this.constrainedElement.parentElement.width
 						- this.constrainedElement.width - this.constraintValues[Constraints.RIGHT];
 			} else {
-				return (int) GameLauncher.getMainWindow().getWindowCanvas().getBounds().getWidth()
+				return WorldBounds.getWidth()
 						- this.constraintValues[Constraints.RIGHT] - this.constrainedElement.width;
 			}
 		} else
@@ -194,14 +194,14 @@ public class Constraints {
 					return this.constrainedElement.parentElement.y + (this.constrainedElement.parentElement.height / 2)
 							+ (constrainedElement.height / 4);
 				else
-					return (int) (GameLauncher.getMainWindow().getWindowCanvas().getBounds().getHeight() / 2)
+					return (WorldBounds.getHeight() / 2)
 						+ (constrainedElement.height / 4);
 			} else {
 				if (this.constrainedElement.parentElement != null) {
 					return this.constrainedElement.parentElement.y + (this.constrainedElement.parentElement.height / 2)
 							- (constrainedElement.height / 2);
 				}else {
-					return (int) (GameLauncher.getMainWindow().getWindowCanvas().getBounds().getHeight() / 2)
+					return (WorldBounds.getHeight() / 2)
 						- (constrainedElement.height / 2);
 				}
 			}
@@ -226,7 +226,7 @@ public class Constraints {
 					return this.constrainedElement.parentElement.y + this.constrainedElement.parentElement.height
 							- this.constraintValues[Constraints.BOTTOM];
 				} else {
-					return (int) GameLauncher.getMainWindow().getWindowCanvas().getBounds().getHeight()
+					return WorldBounds.getHeight()
 							- this.constraintValues[Constraints.BOTTOM];
 				}
 			} else {
@@ -234,7 +234,7 @@ public class Constraints {
 					return this.constrainedElement.parentElement.y + this.constrainedElement.parentElement.height
 							- this.constraintValues[Constraints.BOTTOM] - this.constrainedElement.height;
 				} else {
-					return (int) GameLauncher.getMainWindow().getWindowCanvas().getBounds().getHeight()
+					return WorldBounds.getHeight()
 							- this.constraintValues[Constraints.BOTTOM] - this.constrainedElement.height;
 				}
 			}
@@ -0,0 +1,101 @@
+package jGame.core.ui.hud;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+
+import jGame.core.utils.profiler.FramePhase;
+import jGame.core.utils.profiler.FrameProfiler;
+import jGame.core.utils.profiler.PhaseStatistics;
+
+/**
+ * An overlay showing the statistics collected by the {@link FrameProfiler} for
+ * every {@link FramePhase}, one line per phase.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public class UIHudProfilerElement extends UIHudElement {
+
+	private static final Font PROFILER_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+	private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 160);
+
+	private Color textColor = Color.GREEN;
+
+	{
+		this.zIndex = 9998;
+	}
+
+	/**
+	 * Creates a profiler overlay in the specified location.
+	 *
+	 * @param x the horizontal position of this element
+	 * @param y the vertical position of this element
+	 * @since 2.1.0
+	 */
+	public UIHudProfilerElement(int x, int y) {
+		super(x, y);
+		this.drawConstraints = new Constraints(this, Constraints.NONE, null);
+	}
+
+	/**
+	 * Creates a profiler overlay in the specified location, drawing its text with
+	 * the given color.
+	 *
+	 * @param x         the horizontal position of this element
+	 * @param y         the vertical position of this element
+	 * @param textColor the color of the text
+	 * @since 2.1.0
+	 */
+	public UIHudProfilerElement(int x, int y, Color textColor) {
+		this(x, y);
+		this.textColor = textColor;
+	}
+
+	@Override
+	public void render(Graphics2D g) {
+
+		Font startingFont = g.getFont();
+		Color startingColor = g.getColor();
+
+		g.setFont(PROFILER_FONT);
+		FontMetrics fontDimensions = g.getFontMetrics();
+		int lineHeight = fontDimensions.getHeight();
+
+		String header = String.format("%-14s%9s%9s%9s%9s", "phase (ms)", "min", "mean", "p99", "max");
+
+		this.x = this.drawConstraints.getXLocation();
+		this.y = this.drawConstraints.getYLocation();
+		this.width = fontDimensions.stringWidth(header) + 8;
+		this.height = lineHeight * (FramePhase.values().length + 1) + 8;
+
+		g.setColor(BACKGROUND_COLOR);
+		g.fillRect(this.x, this.y, this.width, this.height);
+
+		g.setColor(textColor);
+
+		int lineY = this.y + 4 + fontDimensions.getAscent();
+		g.drawString(header, this.x + 4, lineY);
+
+		for (FramePhase phase : FramePhase.values()) {
+			PhaseStatistics stats = FrameProfiler.getStatistics(phase);
+			lineY += lineHeight;
+			g.drawString(String.format("%-14s%9.3f%9.3f%9.3f%9.3f", phase.getDisplayName(), stats.getMin() / 1e6,
+					stats.getMean() / 1e6, stats.getP99() / 1e6, stats.getMax() / 1e6), this.x + 4, lineY);
+		}
+
+		g.setColor(startingColor);
+		g.setFont(startingFont);
+	}
+
+	@Override
+	public void registerInputListener() {
+		// do nothing
+	}
+
+	@Override
+	public void removeInputListener() {
+		// do nothing
+	}
+}
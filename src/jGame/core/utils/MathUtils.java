@@ -564,7 +564,7 @@ public final class MathUtils {
 	 * @since 2.0.0
 	 */
 	public static Number reduce(Collection<Number> nums, ReduceLambda reduceFunc) {
-		return reduce((Number[]) nums.toArray(), reduceFunc);
+		return reduce(nums.toArray(new Number[nums.size()]), reduceFunc);
 	}
 
 	/**
@@ -601,6 +601,6 @@ public final class MathUtils {
 	 * @since 2.0.0
 	 */
 	public static Number reduce(Number startValue, Collection<Number> nums, ReduceLambda reduceFunc) {
-		return reduce(startValue, (Number[]) nums.toArray(), reduceFunc);
+		return reduce(startValue, nums.toArray(new Number[nums.size()]), reduceFunc);
 	}
 }
\ No newline at end of file
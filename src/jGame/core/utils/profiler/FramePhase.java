@@ -0,0 +1,34 @@
+package jGame.core.utils.profiler;
+
+/**
+ * The phases of a frame measured by the {@link FrameProfiler}.
+ * 
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public enum FramePhase {
+
+	ENTITY_TICK("Entity tick"), 
+	COLLISION("Collision"), 
+	MOVEMENT("Movement"), 
+	SCRIPTS("Scripts"), 
+	ENTITY_RENDER("Entity render"),
+	HUD_RENDER("HUD render"), 
+	PRESENT("Present");
+
+	private String displayName;
+
+	FramePhase(String displayName) {
+		this.displayName = displayName;
+	}
+
+	/**
+	 * Returns the name of this phase as shown to the user.
+	 * 
+	 * @return the display name of this phase
+	 * @since 2.1.0
+	 */
+	public String getDisplayName() {
+		return displayName;
+	}
+}
@@ -0,0 +1,241 @@
+package jGame.core.utils.profiler;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Locale;
+
+import jGame.core.utils.properties.PropertiesManager;
+import jGame.logging.ProgramLogger;
+
+/**
+ * Measures how long each {@link FramePhase} takes, keeping the most recent
+ * samples of every phase so their minimum, mean, 99th percentile and maximum
+ * can be inspected while the game runs or dumped to a CSV file. <br>
+ * <br>
+ * Phases that run once per tick or frame are recorded with
+ * {@link #record(FramePhase, long)}. Phases that run once per entity are added
+ * up over a tick with {@link #accumulate(FramePhase, long)} and recorded as a
+ * single sample with {@link #recordAccumulated(FramePhase)}. When the profiler
+ * is disabled, measuring costs a single field read.
+ *
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public final class FrameProfiler {
+
+	private static volatile boolean enabled = Boolean
+			.parseBoolean(PropertiesManager.getPropertyOrDefault("profiler.enabled", "false"));
+
+	private static final int DEFAULT_SAMPLES = 240;
+
+	// one histogram per phase, holding the most recent samples
+	private static final PhaseHistogram[] HISTOGRAMS = new PhaseHistogram[FramePhase.values().length];
+
+	// the time accumulated for per entity phases in the current tick, only touched by the game thread
+	private static final long[] ACCUMULATED = new long[FramePhase.values().length];
+
+	static {
+		int samples = DEFAULT_SAMPLES;
+		try {
+			samples = Integer.parseInt(PropertiesManager.getPropertyOrDefault("profiler.samples", "" + DEFAULT_SAMPLES));
+		} catch (NumberFormatException e) {
+			ProgramLogger.writeErrorLog(e, "Invalid number of profiler samples, using " + DEFAULT_SAMPLES);
+		}
+
+		for (int i = 0; i < HISTOGRAMS.length; i++)
+			HISTOGRAMS[i] = new PhaseHistogram(Math.max(samples, 1));
+	}
+
+	// static class, can't instantiate
+	private FrameProfiler() {
+	}
+
+	/**
+	 * Enables or disables the profiler.
+	 *
+	 * @param enabled weather to measure frame phases
+	 * @since 2.1.0
+	 */
+	public static void setEnabled(boolean enabled) {
+		ProgramLogger.writeLog((enabled ? "Enabling" : "Disabling") + " frame profiler");
+		FrameProfiler.enabled = enabled;
+	}
+
+	/**
+	 * Returns weather the profiler is enabled.
+	 *
+	 * @return {@code true} if frame phases are being measured, {@code false}
+	 *         otherwise
+	 * @since 2.1.0
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Marks the start of a measurement.
+	 *
+	 * @return the current time, or {@code 0} if the profiler is disabled
+	 * @since 2.1.0
+	 */
+	public static long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records the time elapsed since {@code start} as a sample of the given phase.
+	 *
+	 * @param phase the phase being measured
+	 * @param start the value returned by {@link #start()} when the phase began
+	 * @since 2.1.0
+	 */
+	public static void record(FramePhase phase, long start) {
+		if (start == 0)
+			return;
+		HISTOGRAMS[phase.ordinal()].add(System.nanoTime() - start);
+	}
+
+	/**
+	 * Adds the time elapsed since {@code start} to the time spent on the given
+	 * phase during the current tick. Must only be called from the game thread.
+	 *
+	 * @param phase the phase being measured
+	 * @param start the value returned by {@link #start()} when the phase began
+	 * @see #recordAccumulated(FramePhase)
+	 * @since 2.1.0
+	 */
+	public static void accumulate(FramePhase phase, long start) {
+		if (start == 0)
+			return;
+		ACCUMULATED[phase.ordinal()] += System.nanoTime() - start;
+	}
+
+	/**
+	 * Records the time accumulated for the given phase as a single sample and
+	 * starts accumulating from zero. Must only be called from the game thread.
+	 *
+	 * @param phase the phase to record
+	 * @see #accumulate(FramePhase, long)
+	 * @since 2.1.0
+	 */
+	public static void recordAccumulated(FramePhase phase) {
+		long accumulated = ACCUMULATED[phase.ordinal()];
+		ACCUMULATED[phase.ordinal()] = 0;
+		if (enabled)
+			HISTOGRAMS[phase.ordinal()].add(accumulated);
+	}
+
+	/**
+	 * Returns the statistics of the given phase over the samples currently held.
+	 *
+	 * @param phase the phase to get the statistics of
+	 * @return the statistics of the given phase
+	 * @since 2.1.0
+	 */
+	public static PhaseStatistics getStatistics(FramePhase phase) {
+		return HISTOGRAMS[phase.ordinal()].statistics(phase);
+	}
+
+	/**
+	 * Discards every sample collected so far.
+	 *
+	 * @since 2.1.0
+	 */
+	public static void reset() {
+		for (PhaseHistogram histogram : HISTOGRAMS)
+			histogram.clear();
+	}
+
+	/**
+	 * Writes the statistics of every phase, in milliseconds, to the given writer
+	 * as CSV.
+	 *
+	 * @param writer the writer to write the statistics to
+	 * @throws IOException if an I/O error occurs
+	 * @since 2.1.0
+	 */
+	public static void dumpCSV(Writer writer) throws IOException {
+
+		writer.write("phase,samples,min_ms,mean_ms,p99_ms,max_ms");
+		writer.write(System.lineSeparator());
+
+		for (FramePhase phase : FramePhase.values()) {
+			PhaseStatistics stats = getStatistics(phase);
+			writer.write(String.format(Locale.ROOT, "%s,%d,%.4f,%.4f,%.4f,%.4f", phase.name(), stats.getSamples(),
+					stats.getMin() / 1e6, stats.getMean() / 1e6, stats.getP99() / 1e6, stats.getMax() / 1e6));
+			writer.write(System.lineSeparator());
+		}
+
+		writer.flush();
+	}
+
+	/**
+	 * Writes the statistics of every phase, in milliseconds, to the given file as
+	 * CSV, replacing its contents.
+	 *
+	 * @param file the file to write the statistics to
+	 * @since 2.1.0
+	 */
+	public static void dumpCSV(File file) {
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+			dumpCSV(writer);
+			ProgramLogger.writeLog("Frame profile written to " + file);
+		} catch (IOException e) {
+			ProgramLogger.writeErrorLog(e, "Error writing frame profile to " + file);
+		}
+	}
+
+	/**
+	 * Ring buffer holding the most recent samples of a phase.
+	 *
+	 * @author Nuno Pereira
+	 * @since 2.1.0
+	 */
+	private static class PhaseHistogram {
+
+		private final long[] samples;
+		private int next = 0, count = 0;
+
+		PhaseHistogram(int capacity) {
+			this.samples = new long[capacity];
+		}
+
+		synchronized void add(long sample) {
+			samples[next] = sample;
+			next = (next + 1) % samples.length;
+			if (count < samples.length)
+				count++;
+		}
+
+		synchronized void clear() {
+			next = 0;
+			count = 0;
+		}
+
+		PhaseStatistics statistics(FramePhase phase) {
+
+			long[] sorted;
+			synchronized (this) {
+				sorted = Arrays.copyOf(samples, count);
+			}
+
+			if (sorted.length == 0)
+				return new PhaseStatistics(phase, 0, 0, 0, 0, 0);
+
+			Arrays.sort(sorted);
+
+			long total = 0;
+			for (long sample : sorted)
+				total += sample;
+
+			int p99Index = Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.99) - 1);
+
+			return new PhaseStatistics(phase, sorted.length, sorted[0], (double) total / sorted.length,
+					sorted[p99Index], sorted[sorted.length - 1]);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package jGame.core.utils.profiler;
+
+/**
+ * The statistics of a {@link FramePhase} over the samples currently held by
+ * the {@link FrameProfiler}. All times are in nanoseconds.
+ * 
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+public class PhaseStatistics {
+
+	private final FramePhase phase;
+	private final int samples;
+	private final long min, max, p99;
+	private final double mean;
+
+	PhaseStatistics(FramePhase phase, int samples, long min, double mean, long p99, long max) {
+		this.phase = phase;
+		this.samples = samples;
+		this.min = min;
+		this.mean = mean;
+		this.p99 = p99;
+		this.max = max;
+	}
+
+	/**
+	 * Returns the phase these statistics refer to.
+	 * 
+	 * @return the phase these statistics refer to
+	 * @since 2.1.0
+	 */
+	public FramePhase getPhase() {
+		return phase;
+	}
+
+	/**
+	 * Returns the number of samples these statistics were computed from.
+	 * 
+	 * @return the number of samples
+	 * @since 2.1.0
+	 */
+	public int getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Returns the shortest time taken by the phase.
+	 * 
+	 * @return the minimum time, in nanoseconds
+	 * @since 2.1.0
+	 */
+	public long getMin() {
+		return min;
+	}
+
+	/**
+	 * Returns the average time taken by the phase.
+	 * 
+	 * @return the mean time, in nanoseconds
+	 * @since 2.1.0
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * Returns the time under which 99% of the samples of the phase fall.
+	 * 
+	 * @return the 99th percentile, in nanoseconds
+	 * @since 2.1.0
+	 */
+	public long getP99() {
+		return p99;
+	}
+
+	/**
+	 * Returns the longest time taken by the phase.
+	 * 
+	 * @return the maximum time, in nanoseconds
+	 * @since 2.1.0
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "PhaseStatistics [phase=" + phase + ", samples=" + samples + ", min=" + min + ", mean=" + mean
+				+ ", p99=" + p99 + ", max=" + max + "]";
+	}
+}
@@ -0,0 +1,8 @@
+/**
+ * Package containing classes used to measure how long each part of a frame
+ * takes.
+ * 
+ * @author Nuno Pereira
+ * @since 2.1.0
+ */
+package jGame.core.utils.profiler;
@@ -32,6 +32,23 @@ public class PropertiesManager {
 		defaultProperties.put("logging", "on");
 		defaultProperties.put("movement.defaultUserControlled", "true");
 		defaultProperties.put("entity.defaultSpeed", "5");
+		defaultProperties.put("entity.parallelTick", "false");
+		defaultProperties.put("entity.packedStorage", "false");
+		defaultProperties.put("entity.sleeping", "false");
+		defaultProperties.put("collision.broadPhase", "none");
+		defaultProperties.put("collision.pairPass", "false");
+		defaultProperties.put("collision.reuseEvents", "false");
+		defaultProperties.put("collision.cellSize", "64");
+		defaultProperties.put("game.tickRate", "120");
+		defaultProperties.put("game.maxTicksPerFrame", "5");
+		defaultProperties.put("game.interpolation", "true");
+		defaultProperties.put("game.targetFPS", "60");
+		defaultProperties.put("game.renderThread", "false");
+		defaultProperties.put("profiler.enabled", "false");
+		defaultProperties.put("profiler.samples", "240");
+		defaultProperties.put("quality.adaptive", "false");
+		defaultProperties.put("quality.tier", "HIGH");
+		defaultProperties.put("quality.targetFPS", "60");
 		
 		properties = new Properties(defaultProperties);
 	}
@@ -12,6 +12,8 @@ module jGame {
 	exports jGame.core.ui.hud.fonts;
 	exports jGame.core.utils;
 	exports jGame.core.utils.properties;
+	exports jGame.core.utils.profiler;
+	exports jGame.core.input;
 	exports jGame.core.entity;
 	exports jGame.core.entity.event;
 	exports jGame.core.entity.render;